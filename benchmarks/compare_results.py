@@ -0,0 +1,49 @@
+#!/usr/bin/env python3
+"""
+Compares two JMH JSON result files (e.g. from two commits).
+
+Usage:
+    python3 benchmarks/compare_results.py before.json after.json
+"""
+
+import json
+import sys
+
+
+def load(path):
+    """Returns {(benchmark, params): (score, error, unit)}"""
+    with open(path) as f:
+        runs = json.load(f)
+    results = {}
+    for run in runs:
+        name = run['benchmark'].rsplit('.', 2)[-2] + '.' + run['benchmark'].rsplit('.', 1)[-1]
+        params = ','.join(f"{k}={v}" for k, v in sorted(run.get('params', {}).items()))
+        metric = run['primaryMetric']
+        results[(name, params)] = (metric['score'], metric['scoreError'], metric['scoreUnit'])
+    return results
+
+
+def main():
+    if len(sys.argv) != 3:
+        print(__doc__.strip())
+        sys.exit(1)
+
+    before = load(sys.argv[1])
+    after = load(sys.argv[2])
+
+    print(f"{'benchmark':<45} {'params':<30} {'before':>14} {'after':>14} {'change':>9}")
+    for key in sorted(set(before) | set(after)):
+        name, params = key
+        b = before.get(key)
+        a = after.get(key)
+        b_str = f"{b[0]:.3f}" if b else '-'
+        a_str = f"{a[0]:.3f}" if a else '-'
+        change = ''
+        if a and b and b[0] != 0:
+            change = f"{(a[0] - b[0]) / b[0] * 100:+.1f}%"
+        unit = (a or b)[2]
+        print(f"{name:<45} {params:<30} {b_str:>14} {a_str:>14} {change:>9}  {unit}")
+
+
+if __name__ == '__main__':
+    main()
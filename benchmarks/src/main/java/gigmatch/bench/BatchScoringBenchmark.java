@@ -0,0 +1,54 @@
+package gigmatch.bench;
+
+import gigmatch.CompositeScorer;
+import gigmatch.ScoreBatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rescoring a columnar batch of freelancers grouped by service (as a month or a whole-service
+ * rescore fills it), scalar loop against the Vector API kernel. The fork adds the incubator
+ * module, so both kernels run in the same JVM setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class BatchScoringBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ScoreBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!CompositeScorer.isVectorized()) {
+            throw new IllegalStateException("Vector API kernel not loaded");
+        }
+        Random random = new Random(17);
+        batch = new ScoreBatch(rows);
+        for (int i = 0; i < rows; i++) {
+            batch.set(i, (int) ((long) i * BenchmarkData.SERVICE_TYPES.length / rows),
+                    random.nextInt(101), random.nextInt(101), random.nextInt(101),
+                    random.nextInt(101), random.nextInt(101),
+                    1 + random.nextDouble() * 4, random.nextInt(30), random.nextInt(5), random.nextInt(8) == 0);
+        }
+    }
+
+    @Benchmark
+    public int scalar() {
+        CompositeScorer.scoreBatchScalar(batch, 0, rows);
+        return batch.scoreAt(rows - 1);
+    }
+
+    @Benchmark
+    public int vector() {
+        CompositeScorer.scoreBatch(batch, 0, rows);
+        return batch.scoreAt(rows - 1);
+    }
+}
@@ -0,0 +1,168 @@
+package gigmatch.bench;
+
+import gigmatch.Freelancer;
+import gigmatch.FreelancerStore;
+import gigmatch.PlatformManager;
+
+import java.util.Random;
+
+/**
+ * Deterministic data sets shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final String[] SERVICE_TYPES = {
+            "paint", "web_dev", "graphic_design", "data_entry", "tutoring",
+            "cleaning", "writing", "photography", "plumbing", "electrical"
+    };
+
+    private BenchmarkData() {
+    }
+
+    // IDs in the same shape as the test inputs (prefix + number)
+    static String[] ids(String prefix, int count) {
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = prefix + i;
+        }
+        return ids;
+    }
+
+    // Fisher-Yates shuffle with a fixed seed
+    static void shuffle(Object[] array, long seed) {
+        Random random = new Random(seed);
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    // Freelancers of one service with random skills and composite scores, handle i for the i-th
+    static Freelancer[] freelancers(int count, long seed) {
+        Random random = new Random(seed);
+        FreelancerStore store = new FreelancerStore(count);
+        Freelancer[] result = new Freelancer[count];
+        for (int i = 0; i < count; i++) {
+            Freelancer f = store.add(i, "web_dev", 100 + random.nextInt(400),
+                    random.nextInt(101), random.nextInt(101), random.nextInt(101),
+                    random.nextInt(101), random.nextInt(101));
+            f.setCompositeScore(random.nextInt(10000));
+            result[i] = f;
+        }
+        return result;
+    }
+
+    // Heap order used by PlatformManager, with handles standing in for IDs
+    static int compareFreelancers(Freelancer a, Freelancer b) {
+        if (a.getCompositeScore() != b.getCompositeScore()) {
+            return Integer.compare(b.getCompositeScore(), a.getCompositeScore());
+        }
+        return Integer.compare(a.getHandle(), b.getHandle());
+    }
+
+    // Command file text: registers the users, then `rounds` rounds of employ followed by a
+    // completion, cancellation, blacklist, skill update or query, with simulate_month every 50k lines
+    static String mutationWorkload(int customerCount, int perService, int rounds, long seed) {
+        Random random = new Random(seed);
+        int freelancerCount = perService * SERVICE_TYPES.length;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < customerCount; i++) {
+            sb.append("register_customer c").append(i).append('\n');
+        }
+        int id = 0;
+        for (String service : SERVICE_TYPES) {
+            for (int i = 0; i < perService; i++) {
+                sb.append("register_freelancer f").append(id++).append(' ').append(service)
+                        .append(' ').append(100 + random.nextInt(400));
+                for (int s = 0; s < 5; s++) {
+                    sb.append(' ').append(random.nextInt(101));
+                }
+                sb.append('\n');
+            }
+        }
+        for (int round = 1; round <= rounds; round++) {
+            String c = "c" + random.nextInt(customerCount);
+            String f = "f" + random.nextInt(freelancerCount);
+            sb.append("employ_freelancer ").append(c).append(' ').append(f).append('\n');
+            switch (random.nextInt(5)) {
+                case 0:
+                    sb.append("complete_and_rate ").append(f).append(' ').append(random.nextInt(6)).append('\n');
+                    break;
+                case 1:
+                    sb.append("cancel_by_customer ").append(c).append(' ').append(f).append('\n');
+                    break;
+                case 2:
+                    sb.append("blacklist ").append(c).append(" f").append(random.nextInt(freelancerCount)).append('\n');
+                    break;
+                case 3:
+                    sb.append("update_skill ").append(f).append(" 50 60 70 80 90\n");
+                    break;
+                default:
+                    sb.append("query_customer ").append(c).append('\n');
+            }
+            if (round % 25_000 == 0) {
+                sb.append("simulate_month\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    // Command lines of one client over the users of platform(perService, customerCount, ...):
+    // mostly queries and job requests, then employments, their endings, blacklists and updates
+    static String[] mixedCommands(int customerCount, int perService, int count, long seed) {
+        Random random = new Random(seed);
+        int freelancerCount = perService * SERVICE_TYPES.length;
+        String[] commands = new String[count];
+        for (int i = 0; i < count; i++) {
+            String c = "c" + random.nextInt(customerCount);
+            String f = "f" + random.nextInt(freelancerCount);
+            int pick = random.nextInt(100);
+            if (pick < 30) {
+                commands[i] = "query_freelancer " + f;
+            } else if (pick < 50) {
+                commands[i] = "query_customer " + c;
+            } else if (pick < 65) {
+                commands[i] = "request_job " + c + " " + SERVICE_TYPES[random.nextInt(SERVICE_TYPES.length)] + " 3";
+            } else if (pick < 75) {
+                commands[i] = "employ_freelancer " + c + " " + f;
+            } else if (pick < 83) {
+                commands[i] = "complete_and_rate " + f + " " + random.nextInt(6);
+            } else if (pick < 87) {
+                commands[i] = "cancel_by_customer " + c + " " + f;
+            } else if (pick < 90) {
+                commands[i] = "cancel_by_freelancer " + f;
+            } else if (pick < 93) {
+                commands[i] = "blacklist " + c + " " + f;
+            } else if (pick < 95) {
+                commands[i] = "unblacklist " + c + " " + f;
+            } else if (pick < 98) {
+                commands[i] = "update_skill " + f + " " + random.nextInt(101) + " " + random.nextInt(101)
+                        + " " + random.nextInt(101) + " " + random.nextInt(101) + " " + random.nextInt(101);
+            } else {
+                commands[i] = "change_service " + f + " " + SERVICE_TYPES[random.nextInt(SERVICE_TYPES.length)]
+                        + " " + (100 + random.nextInt(400));
+            }
+        }
+        return commands;
+    }
+
+    // Platform with `perService` freelancers in each of the ten services and `customerCount` customers
+    static PlatformManager platform(int perService, int customerCount, long seed) {
+        Random random = new Random(seed);
+        PlatformManager platform = new PlatformManager();
+        for (int i = 0; i < customerCount; i++) {
+            platform.registerCustomer("c" + i);
+        }
+        int id = 0;
+        for (String service : SERVICE_TYPES) {
+            for (int i = 0; i < perService; i++) {
+                platform.registerFreelancer("f" + (id++), service, 100 + random.nextInt(400),
+                        random.nextInt(101), random.nextInt(101), random.nextInt(101),
+                        random.nextInt(101), random.nextInt(101));
+            }
+        }
+        return platform;
+    }
+}
@@ -1,4 +1,10 @@
-public class MyHashTable<V> {
+package gigmatch.bench;
+
+/**
+ * The separate-chaining MyHashTable this project used before the open-addressing
+ * rewrite, kept so HashTableBenchmark and FootprintReport can compare the two.
+ */
+public class ChainedHashTable<V> {
 
     // DATA FIELDS
     private static final int DEFAULT_CAPACITY = 16;
@@ -23,7 +29,7 @@ public class MyHashTable<V> {
 
     // CONSTRUCTORS
     // Default constructor
-    public MyHashTable() {
+    public ChainedHashTable() {
         this.capacity = DEFAULT_CAPACITY;
         this.table = (Node<V>[]) new Node[capacity];
         this.size = 0;
@@ -0,0 +1,142 @@
+package gigmatch.bench;
+
+import gigmatch.ConcurrentPlatform;
+import gigmatch.OutputSink;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs many client threads against one ConcurrentPlatform and checks its invariants.
+ *
+ * The platform is small (200 customers, 20 freelancers per service), so threads keep
+ * meeting on the same customers, freelancers and heaps. Each thread runs its own mix of
+ * queries, job requests, employments, completions, cancellations, blacklists and updates
+ * (BenchmarkData.mixedCommands) while the main thread runs simulate_month and verify()
+ * every 50 ms. The run fails if
+ * - verify() finds a broken invariant (a freelancer with two employers or a stale
+ *   employment, an offered freelancer missing from its heap, heap order, a query view
+ *   that does not match its record),
+ * - a command throws (an "Error processing command" result),
+ * - the employments started minus those ended, counted from the result lines, differ
+ *   from the active employments at the end,
+ * - the threads stop making progress (deadlock).
+ * Exits with status 1 on failure.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.ConcurrentStressCheck [threads] [commandsPerThread]
+ */
+public final class ConcurrentStressCheck {
+
+    private static final int CUSTOMERS = 200;
+    private static final int PER_SERVICE = 20;
+
+    private ConcurrentStressCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int commandsPerThread = (args.length > 1) ? Integer.parseInt(args[1]) : 50_000;
+
+        ConcurrentPlatform platform = new ConcurrentPlatform(BenchmarkData.platform(PER_SERVICE, CUSTOMERS, 23));
+        AtomicLong started = new AtomicLong();
+        AtomicLong ended = new AtomicLong();
+        AtomicLong done = new AtomicLong();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            String[] commands = BenchmarkData.mixedCommands(CUSTOMERS, PER_SERVICE, commandsPerThread, 100 + t);
+            workers[t] = new Thread(() -> {
+                OutputSink out = new OutputSink();
+                try {
+                    for (String command : commands) {
+                        platform.execute(command, out);
+                        String result = out.drain();
+                        if (result.startsWith("Error processing command")) {
+                            failure.compareAndSet(null, result.trim());
+                            return;
+                        }
+                        started.addAndGet(count(result, " employed ") + count(result, "auto-employed "));
+                        ended.addAndGet(count(result, "cancelled by customer: ")
+                                + count(result, "cancelled by freelancer: ") + count(result, " completed job for "));
+                        done.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    failure.compareAndSet(null, e.toString());
+                }
+            }, "client-" + t);
+            workers[t].start();
+        }
+
+        long startNanos = System.nanoTime();
+        long lastDone = -1;
+        int months = 0;
+        int checks = 0;
+        OutputSink out = new OutputSink();
+        while (alive(workers) && failure.get() == null) {
+            Thread.sleep(50);
+            platform.execute("simulate_month", out);
+            out.drain();
+            months++;
+            try {
+                platform.verify();
+                checks++;
+            } catch (IllegalStateException e) {
+                failure.compareAndSet(null, e.getMessage());
+            }
+
+            // Two seconds without a finished command while threads are still running
+            if (checks % 40 == 0) {
+                long now = done.get();
+                if (now == lastDone && alive(workers)) {
+                    long[] deadlocked = ManagementFactory.getThreadMXBean().findDeadlockedThreads();
+                    failure.compareAndSet(null, "no progress, " + (deadlocked == null ? 0 : deadlocked.length)
+                            + " deadlocked threads");
+                }
+                lastDone = now;
+            }
+        }
+        for (Thread worker : workers) {
+            worker.join(1000);
+        }
+
+        int active = -1;
+        if (failure.get() == null) {
+            try {
+                active = platform.verify();
+                if (active != started.get() - ended.get()) {
+                    failure.set(started.get() + " employments started, " + ended.get() + " ended, but "
+                            + active + " active");
+                }
+            } catch (IllegalStateException e) {
+                failure.set(e.getMessage());
+            }
+        }
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%d threads, %d commands in %.1f s, %d months, %d checks, %d employments started, "
+                        + "%d ended, %d active%n", threads, done.get(), seconds, months, checks, started.get(),
+                ended.get(), active);
+        if (failure.get() != null) {
+            System.out.println("FAILED: " + failure.get());
+        }
+        System.exit(failure.get() == null ? 0 : 1);
+    }
+
+    private static boolean alive(Thread[] threads) {
+        for (Thread t : threads) {
+            if (t.isAlive()) return true;
+        }
+        return false;
+    }
+
+    private static int count(String s, String part) {
+        int n = 0;
+        for (int i = s.indexOf(part); i >= 0; i = s.indexOf(part, i + 1)) {
+            n++;
+        }
+        return n;
+    }
+}
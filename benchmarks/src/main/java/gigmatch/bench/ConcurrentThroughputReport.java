@@ -0,0 +1,90 @@
+package gigmatch.bench;
+
+import gigmatch.ConcurrentPlatform;
+import gigmatch.OutputSink;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Commands per second of a ConcurrentPlatform at growing thread counts, against the same
+ * platform behind one lock (how concurrent clients had to share a PlatformManager before).
+ *
+ * Each thread runs its own mixed command list (BenchmarkData.mixedCommands) on a platform
+ * with 20k customers and 2k freelancers per service. Every run starts from a fresh
+ * platform; one untimed run per mode and thread count warms up the JIT first. Scaling needs
+ * as many cores as threads (see the processor count in the first line).
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.ConcurrentThroughputReport [commandsPerThread] [maxThreads]
+ */
+public final class ConcurrentThroughputReport {
+
+    private static final int CUSTOMERS = 20_000;
+    private static final int PER_SERVICE = 2_000;
+
+    private ConcurrentThroughputReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int commandsPerThread = (args.length > 0) ? Integer.parseInt(args[0]) : 200_000;
+        int maxThreads = (args.length > 1) ? Integer.parseInt(args[1]) : 8;
+
+        System.out.printf("%d processors, %d commands per thread%n",
+                Runtime.getRuntime().availableProcessors(), commandsPerThread);
+        System.out.printf("%-8s %14s %14s %8s%n", "threads", "one lock/s", "striped/s", "ratio");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            String[][] commands = new String[threads][];
+            for (int t = 0; t < threads; t++) {
+                commands[t] = BenchmarkData.mixedCommands(CUSTOMERS, PER_SERVICE, commandsPerThread, 100 + t);
+            }
+            run(commands, true);
+            double serial = run(commands, true);
+            run(commands, false);
+            double striped = run(commands, false);
+            System.out.printf("%-8d %14.0f %14.0f %8.2f%n", threads, serial, striped, striped / serial);
+        }
+    }
+
+    // Commands per second with one thread per command list
+    private static double run(String[][] commands, boolean oneLock) throws Exception {
+        ConcurrentPlatform platform = new ConcurrentPlatform(BenchmarkData.platform(PER_SERVICE, CUSTOMERS, 23));
+        ReentrantLock lock = new ReentrantLock();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[commands.length];
+        long total = 0;
+        for (int t = 0; t < commands.length; t++) {
+            String[] list = commands[t];
+            total += list.length;
+            workers[t] = new Thread(() -> {
+                OutputSink out = new OutputSink();
+                try {
+                    start.await();
+                    for (String command : list) {
+                        if (oneLock) {
+                            lock.lock();
+                            try {
+                                platform.execute(command, out);
+                            } finally {
+                                lock.unlock();
+                            }
+                        } else {
+                            platform.execute(command, out);
+                        }
+                        out.drain();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return total * 1e9 / (System.nanoTime() - begin);
+    }
+}
@@ -0,0 +1,165 @@
+package gigmatch.bench;
+
+import gigmatch.Main;
+import gigmatch.OutputSink;
+import gigmatch.PlatformManager;
+import gigmatch.WriteAheadLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Kills a Main process that runs with a write-ahead log and checks the state recovered
+ * from the log.
+ *
+ * Each round starts Main on a mutation-heavy command file with -Dgigmatch.walDir and small
+ * segments (so checkpoints happen during the run), kills it with SIGKILL after a random
+ * delay, and opens the log in this JVM. The recovered platform must
+ * - hold at least every mutation of the commands whose result line reached the output file,
+ * - equal a platform that ran the same command prefix up to the same mutation count,
+ *   compared through query_customer / query_freelancer of every user and request_job calls.
+ * Exits with status 1 on the first mismatch.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.CrashRecoveryCheck [rounds] [commandRounds]
+ */
+public final class CrashRecoveryCheck {
+
+    private static final int CUSTOMERS = 20_000;
+    private static final int PER_SERVICE = 2_000;
+
+    private CrashRecoveryCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+        int commandRounds = (args.length > 1) ? Integer.parseInt(args[1]) : 1_000_000;
+
+        Path work = Files.createTempDirectory("gigmatch-crash");
+        Path input = work.resolve("commands.txt");
+        String text = BenchmarkData.mutationWorkload(CUSTOMERS, PER_SERVICE, commandRounds, 23);
+        Files.write(input, text.getBytes(StandardCharsets.US_ASCII));
+        String[] commands = text.split("\n");
+
+        Random random = new Random(23);
+        boolean ok = true;
+        try {
+            for (int round = 0; round < rounds && ok; round++) {
+                Path dir = work.resolve("wal-" + round);
+                Path output = work.resolve("output-" + round + ".txt");
+                long delay = 500 + random.nextInt(3000);
+
+                Process child = new ProcessBuilder(
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-cp", System.getProperty("java.class.path"),
+                        "-Dgigmatch.walDir=" + dir,
+                        "-Dgigmatch.walSegmentBytes=" + (1 << 20),
+                        Main.class.getName(), input.toString(), output.toString())
+                        .inheritIO()
+                        .start();
+                boolean finished = child.waitFor(delay, TimeUnit.MILLISECONDS);
+                if (!finished) {
+                    child.destroyForcibly().waitFor(); // SIGKILL, no shutdown hooks
+                }
+
+                ok = check(round, delay, finished, commands, dir, output);
+            }
+        } finally {
+            deleteRecursively(work);
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean check(int round, long delay, boolean finished, String[] commands, Path dir,
+                                 Path output) throws IOException {
+        long acknowledged = countLines(output);
+        WriteAheadLog wal = WriteAheadLog.open(dir, new PlatformManager());
+        PlatformManager recovered = wal.getPlatform();
+        wal.close();
+        long mutations = recovered.getMutationCount();
+
+        // Runs the commands again until the same number of mutations
+        PlatformManager reference = new PlatformManager();
+        OutputSink discard = new OutputSink();
+        long ran = 0;
+        while (ran < commands.length && reference.getMutationCount() < mutations) {
+            Main.processCommand(commands[(int) ran++], discard, reference);
+            discard.drain();
+        }
+        long referenceMutations = reference.getMutationCount();
+        long acknowledgedMutations = mutationsAfter(commands, acknowledged);
+
+        String expected = dump(reference); // Mutates both platforms the same way
+        String actual = dump(recovered);
+        boolean ok = referenceMutations == mutations
+                && acknowledgedMutations <= mutations
+                && expected.equals(actual);
+        System.out.printf("round %d: %s after %d ms, %d result lines written, %d mutations recovered "
+                        + "(%d from the log), %s%n", round, finished ? "finished" : "killed", delay,
+                acknowledged, mutations, wal.getRecovered(), ok ? "ok" : "MISMATCH");
+        if (!ok) {
+            System.out.printf("  reference mutations %d, mutations of written results %d, state %s%n",
+                    referenceMutations, acknowledgedMutations,
+                    expected.equals(actual) ? "equal" : "different");
+        }
+        return ok;
+    }
+
+    // Mutations made by the first n commands
+    private static long mutationsAfter(String[] commands, long n) throws IOException {
+        PlatformManager platform = new PlatformManager();
+        OutputSink discard = new OutputSink();
+        for (int i = 0; i < n && i < commands.length; i++) {
+            Main.processCommand(commands[i], discard, platform);
+            discard.drain();
+        }
+        return platform.getMutationCount();
+    }
+
+    // Every customer and freelancer as queried, then a few job requests
+    private static String dump(PlatformManager platform) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            lines.add("query_customer c" + i);
+        }
+        for (int i = 0; i < PER_SERVICE * BenchmarkData.SERVICE_TYPES.length; i++) {
+            lines.add("query_freelancer f" + i);
+        }
+        for (int i = 0; i < 200; i++) {
+            lines.add("request_job c" + (i * 97) + " " + BenchmarkData.SERVICE_TYPES[i % 10] + " 5");
+        }
+        lines.add("simulate_month");
+
+        OutputSink out = new OutputSink();
+        for (String line : lines) {
+            Main.processCommand(line, out, platform);
+        }
+        return out.drain();
+    }
+
+    private static long countLines(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long n = 0;
+        for (byte b : Files.readAllBytes(file)) {
+            if (b == '\n') n++;
+        }
+        return n;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+}
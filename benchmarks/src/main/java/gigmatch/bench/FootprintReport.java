@@ -0,0 +1,146 @@
+package gigmatch.bench;
+
+import gigmatch.EmploymentLedger;
+import gigmatch.MyHashTable;
+import gigmatch.PlatformManager;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Prints the retained heap size per entry of the engine's data structures.
+ *
+ * Keys and values are measured separately and subtracted, so the numbers are
+ * the structure's own overhead.
+ *
+ * The platform line is a PlatformManager with half customers and half
+ * freelancers, a third of the freelancers employed, measured as a whole.
+ * The freelancer line is a platform with freelancers only (records, IDs and
+ * service queues). The customer line is the mixed platform minus the freelancer
+ * platform of the same size, per customer. The job history line is the growth of a
+ * 10k user platform (with an employment ledger) per finished employment.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.FootprintReport [sizes...]
+ */
+public final class FootprintReport {
+
+    private FootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        // Lets JOL read fields of hidden classes (method references in the engine)
+        System.setProperty("jol.magicFieldOffset", "true");
+
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%-22s %10s %14s %14s%n", "structure", "entries", "total bytes", "bytes/entry");
+        for (int size : sizes) {
+            String[] keys = BenchmarkData.ids("f", size);
+            long payload = GraphLayout.parseInstance((Object) keys).totalSize()
+                    - GraphLayout.parseInstance((Object) new String[size]).totalSize();
+
+            MyHashTable<String> open = new MyHashTable<>();
+            ChainedHashTable<String> chained = new ChainedHashTable<>();
+            for (String key : keys) {
+                open.put(key, key);
+                chained.put(key, key);
+            }
+
+            print("MyHashTable (open)", size, GraphLayout.parseInstance(open).totalSize() - payload);
+            print("ChainedHashTable", size, GraphLayout.parseInstance(chained).totalSize() - payload);
+        }
+
+        for (int size : sizes) {
+            PlatformManager platform = platform(size);
+            print("PlatformManager (user)", size, GraphLayout.parseInstance(platform).totalSize());
+        }
+
+        long empty = GraphLayout.parseInstance(new PlatformManager()).totalSize();
+        for (int size : sizes) {
+            int perService = Math.max(1, size / BenchmarkData.SERVICE_TYPES.length);
+            PlatformManager platform = BenchmarkData.platform(perService, 0, 13);
+            int count = perService * BenchmarkData.SERVICE_TYPES.length;
+            print("Freelancer (platform)", count, GraphLayout.parseInstance(platform).totalSize() - empty);
+        }
+
+        for (int size : sizes) {
+            long mixed = GraphLayout.parseInstance(platform(size)).totalSize();
+            int perService = Math.max(1, size / 2 / BenchmarkData.SERVICE_TYPES.length);
+            long freelancersOnly = GraphLayout.parseInstance(BenchmarkData.platform(perService, 0, 13)).totalSize();
+            print("Customer (platform)", size / 2, mixed - freelancersOnly);
+        }
+
+        for (int size : sizes) {
+            print("Job history", size, historyGrowth(size));
+        }
+    }
+
+    // Retained growth of a platform after the given number of employ + complete cycles
+    static long historyGrowth(int jobs) {
+        Path dir;
+        try {
+            dir = Files.createTempDirectory("gigmatch-ledger");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try (EmploymentLedger ledger = new EmploymentLedger(dir)) {
+            PlatformManager platform = platform(10_000);
+            platform.setLedger(ledger);
+            int customer = platform.lookupId("c0");
+            int freelancer = platform.lookupId("f1"); // Not employed by platform()
+
+            long before = GraphLayout.parseInstance(platform).totalSize();
+            for (int i = 0; i < jobs; i++) {
+                platform.employ(customer, freelancer);
+                platform.completeAndRate(freelancer, 5);
+            }
+            return GraphLayout.parseInstance(platform).totalSize() - before;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteLedger(dir);
+        }
+    }
+
+    private static void deleteLedger(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        } catch (IOException e) {
+            System.err.println("Could not delete " + dir + ": " + e.getMessage());
+        }
+    }
+
+    // size/2 customers, size/2 freelancers spread over the services, every third freelancer employed,
+    // every tenth customer blacklists one freelancer
+    static PlatformManager platform(int users) {
+        int customers = users / 2;
+        int perService = Math.max(1, customers / BenchmarkData.SERVICE_TYPES.length);
+        PlatformManager platform = BenchmarkData.platform(perService, customers, 13);
+        int freelancers = perService * BenchmarkData.SERVICE_TYPES.length;
+        for (int i = 0; i < freelancers; i += 3) {
+            platform.employ(platform.lookupId("c" + (i % customers)), platform.lookupId("f" + i));
+        }
+        for (int i = 0; i < customers; i += 10) {
+            platform.blacklist(platform.lookupId("c" + i), platform.lookupId("f" + (i % freelancers)));
+        }
+        return platform;
+    }
+
+    static void print(String name, int entries, long bytes) {
+        System.out.printf("%-22s %10d %14d %14.1f%n", name, entries, bytes, (double) bytes / entries);
+    }
+}
@@ -0,0 +1,106 @@
+package gigmatch.bench;
+
+import gigmatch.MyHashTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * put/get/remove on MyHashTable with String keys shaped like the engine's IDs.
+ * impl=chained runs the same operations on the old separate-chaining table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashTableBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"open", "chained"})
+    public String impl;
+
+    private String[] keys; // Keys that are in the table
+    private String[] missingKeys; // Keys that are never inserted
+    private boolean chained;
+    private MyHashTable<String> table;
+    private ChainedHashTable<String> chainedTable;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = BenchmarkData.ids("f", size);
+        missingKeys = BenchmarkData.ids("x", size);
+        BenchmarkData.shuffle(keys, 42);
+
+        chained = impl.equals("chained");
+        table = new MyHashTable<>();
+        chainedTable = new ChainedHashTable<>();
+        for (String key : keys) {
+            if (chained) {
+                chainedTable.put(key, key);
+            } else {
+                table.put(key, key);
+            }
+        }
+    }
+
+    // Next key in shuffled order, so lookups do not walk the table sequentially
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1 == size) ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public String getHit() {
+        String key = keys[next()];
+        return chained ? chainedTable.get(key) : table.get(key);
+    }
+
+    @Benchmark
+    public String getMiss() {
+        String key = missingKeys[next()];
+        return chained ? chainedTable.get(key) : table.get(key);
+    }
+
+    // Removes and re-inserts one key so the table size stays constant
+    @Benchmark
+    public String removeAndPut() {
+        String key = keys[next()];
+        if (chained) {
+            String value = chainedTable.remove(key);
+            chainedTable.put(key, value);
+            return value;
+        }
+        String value = table.remove(key);
+        table.put(key, value);
+        return value;
+    }
+
+    // Builds a table of `size` entries from scratch, including every resize
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public void fill(Blackhole bh) {
+        if (chained) {
+            ChainedHashTable<String> fresh = new ChainedHashTable<>();
+            for (String key : keys) {
+                fresh.put(key, key);
+            }
+            bh.consume(fresh);
+        } else {
+            MyHashTable<String> fresh = new MyHashTable<>();
+            for (String key : keys) {
+                fresh.put(key, key);
+            }
+            bh.consume(fresh);
+        }
+    }
+}
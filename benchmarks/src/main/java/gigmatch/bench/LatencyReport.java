@@ -0,0 +1,78 @@
+package gigmatch.bench;
+
+import gigmatch.IdDictionary;
+import gigmatch.MyHashTable;
+import gigmatch.PlatformManager;
+
+import java.util.Arrays;
+
+/**
+ * Per-operation latency percentiles for growing tables.
+ *
+ * JMH's SampleTime mode only times a sample of invocations and can miss the
+ * few calls that trigger a resize, so this times every call with nanoTime.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.LatencyReport [entries] [rounds]
+ */
+public final class LatencyReport {
+
+    private LatencyReport() {
+    }
+
+    public static void main(String[] args) {
+        int entries = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+        String[] keys = BenchmarkData.ids("f", entries);
+        long[] latencies = new long[entries];
+
+        System.out.printf("%-34s %8s %8s %8s %8s %10s   (ns)%n", "operation", "p50", "p99", "p99.9", "p99.99", "max");
+        for (boolean incremental : new boolean[]{false, true}) {
+            String name = incremental ? "MyHashTable.put (incremental)" : "MyHashTable.put (stop-the-world)";
+            // Earlier rounds are JIT warm-up, only the last one is reported
+            for (int round = 0; round < rounds; round++) {
+                MyHashTable<String> table = new MyHashTable<>(incremental);
+                for (int i = 0; i < entries; i++) {
+                    long start = System.nanoTime();
+                    table.put(keys[i], keys[i]);
+                    latencies[i] = System.nanoTime() - start;
+                }
+            }
+            print(name, latencies);
+        }
+
+        for (int round = 0; round < rounds; round++) {
+            IdDictionary ids = new IdDictionary();
+            for (int i = 0; i < entries; i++) {
+                long start = System.nanoTime();
+                ids.intern(keys[i]);
+                latencies[i] = System.nanoTime() - start;
+            }
+        }
+        print("IdDictionary.intern", latencies);
+
+        for (int round = 0; round < rounds; round++) {
+            PlatformManager platform = new PlatformManager();
+            for (int i = 0; i < entries; i++) {
+                String service = BenchmarkData.SERVICE_TYPES[i % BenchmarkData.SERVICE_TYPES.length];
+                long start = System.nanoTime();
+                platform.registerFreelancer(keys[i], service, 100, 50, 50, 50, 50, 50);
+                latencies[i] = System.nanoTime() - start;
+            }
+        }
+        print("PlatformManager.registerFreelancer", latencies);
+    }
+
+    static void print(String name, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-34s %8d %8d %8d %8d %10d%n", name,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                percentile(sorted, 0.9999), sorted[sorted.length - 1]);
+    }
+
+    static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,132 @@
+package gigmatch.bench;
+
+import gigmatch.AsyncChannel;
+import gigmatch.CommandParser;
+import gigmatch.CommandTrace;
+import gigmatch.Main;
+import gigmatch.OutputSink;
+import gigmatch.PlatformManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lines per second of a whole command file, read with BufferedReader and split into Strings
+ * (stringPath, the previous Main loop), parsed on the mapped bytes (CommandParser), or
+ * parsed, run and written on three threads (pipelined, -Dgigmatch.pipeline=true). binaryTrace
+ * replays the same commands converted to a CommandTrace.
+ *
+ * The file repeats queries, employ/cancel and blacklist/unblacklist pairs and skill updates
+ * on a 20k user platform, so the platform stays the same from one invocation to the next.
+ * Results go to an OutputSink over a channel that drops them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    private static final int LINES = 200_000;
+
+    private PlatformManager platform;
+    private Path input;
+    private Path trace;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int perService = 1000;
+        platform = BenchmarkData.platform(perService, 10_000, 11);
+        int freelancers = perService * BenchmarkData.SERVICE_TYPES.length;
+
+        Random random = new Random(11);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < LINES; i += 7) {
+            String f = "f" + random.nextInt(freelancers);
+            String c = "c" + random.nextInt(10_000);
+            sb.append("query_freelancer ").append(f).append('\n');
+            sb.append("query_customer ").append(c).append('\n');
+            sb.append("employ_freelancer ").append(c).append(' ').append(f).append('\n');
+            sb.append("cancel_by_customer ").append(c).append(' ').append(f).append('\n');
+            sb.append("blacklist ").append(c).append(' ').append(f).append('\n');
+            sb.append("unblacklist ").append(c).append(' ').append(f).append('\n');
+            sb.append("update_skill ").append(f).append(" 50 60 70 80 90\n");
+        }
+
+        input = Files.createTempFile("gigmatch-commands", ".txt");
+        Files.write(input, sb.toString().getBytes(StandardCharsets.US_ASCII));
+        trace = Files.createTempFile("gigmatch-commands", ".gmt");
+        CommandTrace.convert(input, trace);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(trace);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void stringPath() throws IOException {
+        OutputSink out = new OutputSink(Channels.newChannel(OutputStream.nullOutputStream()));
+        try (BufferedReader reader = new BufferedReader(new FileReader(input.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Main.processCommand(line, out, platform);
+            }
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long commandParser() throws IOException {
+        CommandParser parser = new CommandParser(platform);
+        OutputSink out = new OutputSink(Channels.newChannel(OutputStream.nullOutputStream()));
+        try (FileChannel channel = FileChannel.open(input)) {
+            parser.run(channel, out);
+        }
+        out.flush();
+        return parser.getLines();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long pipelined() throws IOException {
+        CommandParser parser = new CommandParser(platform);
+        try (FileChannel channel = FileChannel.open(input);
+             AsyncChannel writer = new AsyncChannel(Channels.newChannel(OutputStream.nullOutputStream()))) {
+            OutputSink out = new OutputSink(writer);
+            parser.runPipelined(channel, out);
+            out.flush();
+        }
+        return parser.getLines();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long binaryTrace() throws IOException {
+        CommandTrace replay = new CommandTrace(platform);
+        OutputSink out = new OutputSink(Channels.newChannel(OutputStream.nullOutputStream()));
+        try (FileChannel channel = FileChannel.open(trace)) {
+            replay.run(channel, out);
+        }
+        out.flush();
+        return replay.getCommands();
+    }
+}
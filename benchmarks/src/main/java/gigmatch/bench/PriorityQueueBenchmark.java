@@ -0,0 +1,54 @@
+package gigmatch.bench;
+
+import gigmatch.Freelancer;
+import gigmatch.MyPriorityQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * add/poll/remove(Freelancer) on a MyPriorityQueue of a fixed size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriorityQueueBenchmark {
+
+    @Param({"1000", "50000", "500000"})
+    public int size;
+
+    private Freelancer[] freelancers;
+    private MyPriorityQueue<Freelancer> pq;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        freelancers = BenchmarkData.freelancers(size, 7);
+        pq = new MyPriorityQueue<>(BenchmarkData::compareFreelancers);
+        for (Freelancer f : freelancers) {
+            pq.add(f);
+        }
+        BenchmarkData.shuffle(freelancers, 11);
+    }
+
+    // The root goes back in, the way requestJob re-adds polled freelancers
+    @Benchmark
+    public Freelancer pollAndAdd() {
+        Freelancer root = pq.poll();
+        pq.add(root);
+        return root;
+    }
+
+    // Removes an arbitrary element and re-adds it, the way refreshFreelancerInPQ does
+    @Benchmark
+    public boolean removeAndAdd() {
+        Freelancer f = freelancers[cursor];
+        cursor = (cursor + 1 == size) ? 0 : cursor + 1;
+        boolean removed = pq.remove(f);
+        pq.add(f);
+        return removed;
+    }
+}
@@ -0,0 +1,159 @@
+package gigmatch.bench;
+
+import gigmatch.ConcurrentPlatform;
+import gigmatch.OutputSink;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Query throughput of a ConcurrentPlatform at growing reader counts while one writer runs.
+ *
+ * Readers run query_freelancer and query_customer on random users of a platform with 20k
+ * customers and 2k freelancers per service, for a fixed time per reader count. Every
+ * freelancer starts with five equal skills, and the writer runs a mixed command list without
+ * its completions (which raise single skills) and skill updates, and between those commands
+ * update_skill with all five skills set to one new value. A reader that sees a freelancer with unequal skills counts a
+ * torn read, which must stay 0. "one lock" runs the same readers and writer behind one shared lock, the way
+ * clients had to share a PlatformManager before. Scaling needs as many cores as readers
+ * plus the writer (see the processor count in the first line).
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.QueryScalingReport [maxReaders] [millis]
+ */
+public final class QueryScalingReport {
+
+    private static final int CUSTOMERS = 20_000;
+    private static final int PER_SERVICE = 2_000;
+
+    private QueryScalingReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxReaders = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        long millis = (args.length > 1) ? Long.parseLong(args[1]) : 2_000;
+
+        System.out.printf("%d processors, %d ms per run%n", Runtime.getRuntime().availableProcessors(), millis);
+        System.out.printf("%-8s %-9s %14s %14s %14s %6s%n",
+                "readers", "mode", "reads/s", "per reader/s", "writes/s", "torn");
+        run(1, millis, true, false); // JIT warm-up
+        run(1, millis, false, false);
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            run(readers, millis, true, true);
+            run(readers, millis, false, true);
+        }
+    }
+
+    private static void run(int readers, long millis, boolean oneLock, boolean print) throws Exception {
+        ConcurrentPlatform platform = new ConcurrentPlatform(BenchmarkData.platform(PER_SERVICE, CUSTOMERS, 23));
+        OutputSink setup = new OutputSink();
+        for (int i = 0; i < PER_SERVICE * BenchmarkData.SERVICE_TYPES.length; i++) {
+            platform.execute("update_skill f" + i + " 50 50 50 50 50", setup);
+            setup.drain();
+        }
+        ReentrantLock lock = new ReentrantLock();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicLong torn = new AtomicLong();
+        long[] writes = new long[1];
+
+        Thread writer = new Thread(() -> {
+            String[] commands = BenchmarkData.mixedCommands(CUSTOMERS, PER_SERVICE, 100_000, 7);
+            Random random = new Random(7);
+            OutputSink out = new OutputSink();
+            long n = 0;
+            long executed = 0;
+            try {
+                while (!stop.get()) {
+                    String command = (n % 2 == 0) ? commands[(int) (n / 2 % commands.length)]
+                            : "update_skill f" + random.nextInt(PER_SERVICE * 10) + " "
+                              + (random.nextInt(101) + " ").repeat(5).trim();
+                    if (n % 2 == 1 || !(command.startsWith("complete_and_rate")
+                                        || command.startsWith("update_skill"))) {
+                        execute(platform, lock, oneLock, command, out);
+                        executed++;
+                    }
+                    out.drain();
+                    n++;
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            writes[0] = executed;
+        });
+
+        Thread[] workers = new Thread[readers];
+        for (int t = 0; t < readers; t++) {
+            long seed = 100 + t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                OutputSink out = new OutputSink();
+                long n = 0;
+                try {
+                    while (!stop.get()) {
+                        boolean freelancer = random.nextBoolean();
+                        String command = freelancer ? "query_freelancer f" + random.nextInt(PER_SERVICE * 10)
+                                                    : "query_customer c" + random.nextInt(CUSTOMERS);
+                        execute(platform, lock, oneLock, command, out);
+                        String result = out.drain();
+                        if (freelancer && isTorn(result)) {
+                            torn.incrementAndGet();
+                        }
+                        n++;
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                reads.addAndGet(n);
+            });
+        }
+
+        writer.start();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        writer.join();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        if (print) {
+            double readsPerSecond = reads.get() / seconds;
+            System.out.printf("%-8d %-9s %14.0f %14.0f %14.0f %6d%n", readers, oneLock ? "one lock" : "lock-free",
+                    readsPerSecond, readsPerSecond / readers, writes[0] / seconds, torn.get());
+        }
+    }
+
+    private static void execute(ConcurrentPlatform platform, ReentrantLock lock, boolean oneLock, String command,
+                                OutputSink out) throws IOException {
+        if (!oneLock) {
+            platform.execute(command, out);
+            return;
+        }
+        lock.lock();
+        try {
+            platform.execute(command, out);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Every skill tuple the writer leaves behind is five equal values
+    private static boolean isTorn(String result) {
+        int start = result.indexOf("skills: (");
+        if (start < 0) {
+            return false;
+        }
+        String[] skills = result.substring(start + 9, result.indexOf(')', start)).split(",");
+        for (String s : skills) {
+            if (!s.equals(skills[0])) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package gigmatch.bench;
+
+import gigmatch.PlatformManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlatformManager.requestJob at different topK values and heap sizes.
+ *
+ * requestJob auto-employs the best freelancer, so every invocation cancels that
+ * employment again to keep the platform in the same state. cancelOnly measures
+ * that extra cost on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestJobBenchmark {
+
+    private static final String SERVICE = "web_dev";
+    private static final String CUSTOMER = "c0";
+
+    @Param({"1000", "50000"})
+    public int perService;
+
+    @Param({"1", "10", "50"})
+    public int topK;
+
+    private PlatformManager platform;
+    private int customer;
+    private int bestFreelancer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        platform = BenchmarkData.platform(perService, 1, 3);
+        customer = platform.lookupId(CUSTOMER);
+
+        // Finds the freelancer that requestJob auto-employs
+        String result = platform.requestJob(customer, SERVICE, 1);
+        String best = result.substring(result.lastIndexOf("freelancer: ") + 12, result.indexOf(" for customer"));
+        bestFreelancer = platform.lookupId(best);
+        platform.cancelByCustomer(customer, bestFreelancer);
+    }
+
+    @Benchmark
+    public String requestJob() {
+        String result = platform.requestJob(customer, SERVICE, topK);
+        platform.cancelByCustomer(customer, bestFreelancer);
+        return result;
+    }
+
+    @Benchmark
+    public String cancelOnly() {
+        platform.employ(customer, bestFreelancer);
+        return platform.cancelByCustomer(customer, bestFreelancer);
+    }
+}
@@ -0,0 +1,86 @@
+package gigmatch.bench;
+
+import gigmatch.PlatformManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlatformManager.requestJob for a customer who blacklisted the best freelancers of the service.
+ *
+ * Every blacklisted freelancer sits above the first eligible one in the heap, so the walk
+ * inspects about blacklisted + topK elements unless scanBudget (0 = no bound) stops it.
+ * Each invocation cancels the auto-employment again, like RequestJobBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestJobBlacklistBenchmark {
+
+    private static final String SERVICE = "web_dev";
+    private static final String CUSTOMER = "c0";
+    private static final int TOP_K = 10;
+
+    @Param({"50000"})
+    public int perService;
+
+    @Param({"0", "1000", "20000"})
+    public int blacklisted;
+
+    @Param({"0", "256"})
+    public int scanBudget;
+
+    private PlatformManager platform;
+    private int customer;
+    private int bestFreelancer = -1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        platform = BenchmarkData.platform(perService, 1, 3);
+        customer = platform.lookupId(CUSTOMER);
+
+        // Blacklists the current top freelancers of the service
+        if (blacklisted > 0) {
+            String result = platform.requestJob(customer, SERVICE, blacklisted);
+            cancel(result);
+            String[] lines = result.split("\n");
+            for (int i = 1; i <= blacklisted; i++) {
+                String id = lines[i].substring(0, lines[i].indexOf(" - composite"));
+                platform.blacklist(customer, platform.lookupId(id));
+            }
+            bestFreelancer = -1;
+        }
+
+        platform.setRequestScanBudget(scanBudget);
+    }
+
+    @Benchmark
+    public String requestJob() {
+        String result = platform.requestJob(customer, SERVICE, TOP_K);
+        if (bestFreelancer < 0) {
+            cancel(result);
+        } else {
+            platform.cancelByCustomer(customer, bestFreelancer);
+        }
+        return result;
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.println("scan budget hits: " + platform.getScanBudgetHits());
+    }
+
+    // Cancels the employment requestJob made and remembers the freelancer
+    private void cancel(String result) {
+        int at = result.lastIndexOf("freelancer: ");
+        if (at < 0) {
+            return; // Budget reached before any eligible freelancer
+        }
+        String best = result.substring(at + 12, result.indexOf(" for customer"));
+        bestFreelancer = platform.lookupId(best);
+        platform.cancelByCustomer(customer, bestFreelancer);
+    }
+}
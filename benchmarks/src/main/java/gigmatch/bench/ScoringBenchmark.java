@@ -0,0 +1,105 @@
+package gigmatch.bench;
+
+import gigmatch.CompositeScorer;
+import gigmatch.Freelancer;
+import gigmatch.FreelancerStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One composite score per call, CompositeScorer against the previous per-call implementation.
+ * Run with -prof gc to see the allocation per score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringBenchmark {
+
+    private static final int COUNT = 4096; // Power of two, cursor wraps with a mask
+
+    private Freelancer[] freelancers;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(3);
+        FreelancerStore store = new FreelancerStore(COUNT);
+        freelancers = new Freelancer[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            String service = BenchmarkData.SERVICE_TYPES[random.nextInt(BenchmarkData.SERVICE_TYPES.length)];
+            freelancers[i] = store.add(i, service, 100 + random.nextInt(400),
+                    random.nextInt(101), random.nextInt(101), random.nextInt(101),
+                    random.nextInt(101), random.nextInt(101));
+            freelancers[i].setCompletedJobs(random.nextInt(20));
+            freelancers[i].setCancelledJobs(random.nextInt(5));
+        }
+    }
+
+    @Benchmark
+    public int scorer() {
+        Freelancer f = freelancers[cursor++ & (COUNT - 1)];
+        return CompositeScorer.score(f);
+    }
+
+    @Benchmark
+    public int legacy() {
+        Freelancer f = freelancers[cursor++ & (COUNT - 1)];
+        return LegacyScoring.calculateCompositeScore(f, f.getServiceType());
+    }
+
+    /**
+     * The scoring code as it was in PlatformManager: linear service lookup, cloned profile,
+     * a fresh skills array and the profile sum on every call.
+     */
+    static final class LegacyScoring {
+
+        private static final int[][] SKILL_PROFILES = {
+                {70, 60, 50, 85, 90}, {95, 75, 85, 80, 90}, {75, 85, 95, 70, 85}, {50, 50, 30, 95, 95},
+                {80, 95, 70, 90, 75}, {40, 60, 40, 90, 85}, {70, 85, 90, 80, 95}, {85, 80, 90, 75, 90},
+                {85, 65, 60, 90, 85}, {90, 65, 70, 95, 95}
+        };
+
+        private static int getServiceIndex(String serviceType) {
+            for (int i = 0; i < BenchmarkData.SERVICE_TYPES.length; i++) {
+                if (BenchmarkData.SERVICE_TYPES[i].equals(serviceType)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static double calculateSkillScore(int[] freelancerSkills, String serviceType) {
+            int index = getServiceIndex(serviceType);
+            if (index == -1) return 0.0;
+            int[] serviceSkills = SKILL_PROFILES[index].clone();
+
+            int dotProduct = 0;
+            for (int i = 0; i < 5; i++) {
+                dotProduct += freelancerSkills[i] * serviceSkills[i];
+            }
+            int serviceSum = 0;
+            for (int s : serviceSkills) {
+                serviceSum += s;
+            }
+            return (double) dotProduct / (100.0 * serviceSum);
+        }
+
+        static int calculateCompositeScore(Freelancer f, String serviceType) {
+            int[] freelancerSkills = {f.getT(), f.getC(), f.getR(), f.getE(), f.getA()};
+            double skillScore = calculateSkillScore(freelancerSkills, serviceType);
+            double ratingScore = f.getAverageRating() / 5.0;
+
+            int total = f.getCompletedJobs() + f.getCancelledJobs();
+            double reliabilityScore = (total == 0) ? 1.0 : 1.0 - ((double) f.getCancelledJobs() / total);
+            double burnoutPenalty = f.isBurnout() ? 0.45 : 0.0;
+
+            double composite = 0.55 * skillScore + 0.25 * ratingScore + 0.20 * reliabilityScore - burnoutPenalty;
+            return (int) Math.floor(10000 * composite);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package gigmatch.bench;
+
+import gigmatch.PlatformServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency percentiles of a PlatformServer under a growing number of local clients, for the
+ * ordered and the concurrent engine.
+ *
+ * Each client connects over loopback TCP and keeps up to window commands in flight: a sender
+ * thread writes every command it has room for in one write, and a receiver thread matches
+ * result lines to commands in order. The mix is BenchmarkData.mixedCommands, request_job
+ * included. Results are plain lines without framing and some commands print several, so the
+ * client frames them itself: every measured command is followed by a query_customer of an
+ * unregistered ID, whose single reply line is known, and the lines before that reply belong
+ * to the measured command. A command's latency runs from its write to the arrival of its last
+ * result line, so it includes the time it waited in the window of its own session. The
+ * framing commands run on the server too but are neither timed nor counted.
+ *
+ * Every run starts a fresh server on a platform with 20k customers and 2k freelancers per
+ * service; one untimed run per engine warms up the JIT first. Clients, server sessions and
+ * the engine all share the processors of this machine (see the first line).
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.ServerLoadReport [maxClients] [commandsPerClient] [window]
+ */
+public final class ServerLoadReport {
+
+    private static final int CUSTOMERS = 20_000;
+    private static final int PER_SERVICE = 2_000;
+
+    // Sent after every measured command, its reply ends the measured command's result lines
+    private static final String FRAME = "query_customer __frame__";
+    private static final byte[] FRAME_REPLY = "Some error occurred in query_customer.".getBytes(StandardCharsets.US_ASCII);
+
+    private ServerLoadReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxClients = (args.length > 0) ? Integer.parseInt(args[0]) : 64;
+        int commandsPerClient = (args.length > 1) ? Integer.parseInt(args[1]) : 10_000;
+        int window = (args.length > 2) ? Integer.parseInt(args[2]) : 64;
+
+        System.out.printf("%d processors, %d commands per client, window %d, %s session threads%n",
+                Runtime.getRuntime().availableProcessors(), commandsPerClient, window,
+                Runtime.version().feature() >= 21 ? "virtual" : "platform");
+        System.out.printf("%-11s %7s %10s %8s %8s %8s %8s %9s  (us)%n",
+                "engine", "clients", "commands/s", "p50", "p99", "p99.9", "p99.99", "max");
+        for (boolean concurrent : new boolean[] {false, true}) {
+            String engine = concurrent ? "concurrent" : "ordered";
+            run(concurrent, commands(4, commandsPerClient), window, null); // Warm-up
+            for (int clients = 1; clients <= maxClients; clients *= 2) {
+                run(concurrent, commands(clients, commandsPerClient), window, engine);
+            }
+        }
+    }
+
+    // Command lines of each client, each measured command followed by the frame command
+    private static byte[][][] commands(int clients, int count) {
+        byte[][][] commands = new byte[clients][count][];
+        for (int c = 0; c < clients; c++) {
+            String[] mixed = BenchmarkData.mixedCommands(CUSTOMERS, PER_SERVICE, count, 300 + c);
+            for (int i = 0; i < count; i++) {
+                commands[c][i] = (mixed[i] + "\n" + FRAME + "\n").getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+        return commands;
+    }
+
+    // Runs all clients against a fresh server and prints a row (nothing when name is null)
+    private static void run(boolean concurrent, byte[][][] commands, int window, String name) throws Exception {
+        PlatformServer server = new PlatformServer(BenchmarkData.platform(PER_SERVICE, CUSTOMERS, 23), concurrent);
+        InetSocketAddress address = (InetSocketAddress) server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Thread acceptor = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        acceptor.start();
+
+        int clients = commands.length;
+        long[][] latencies = new long[clients][];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<SocketChannel> channels = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channels.add(channel);
+            byte[][] lines = commands[c];
+            AtomicLongArray sent = new AtomicLongArray(lines.length);
+            long[] latency = new long[lines.length];
+            latencies[c] = latency;
+            Semaphore room = new Semaphore(window);
+            threads.add(new Thread(() -> send(channel, lines, sent, room, start)));
+            threads.add(new Thread(() -> receive(channel, sent, latency, room)));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+        server.close();
+        acceptor.join();
+
+        if (name != null) {
+            long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).toArray();
+            Arrays.sort(all);
+            System.out.printf("%-11s %7d %10.0f %8d %8d %8d %8d %9d%n", name, clients, all.length * 1e9 / elapsed,
+                    micros(all, 0.50), micros(all, 0.99), micros(all, 0.999), micros(all, 0.9999),
+                    all[all.length - 1] / 1000);
+        }
+    }
+
+    // Writes as many commands as the window has room for at once
+    private static void send(SocketChannel channel, byte[][] lines, AtomicLongArray sent, Semaphore room,
+                             CountDownLatch start) {
+        ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+        try {
+            start.await();
+            int next = 0;
+            while (next < lines.length) {
+                room.acquire();
+                int count = 1 + room.drainPermits();
+                long now = System.nanoTime();
+                buf.clear();
+                while (count > 0 && next < lines.length && buf.remaining() >= lines[next].length) {
+                    sent.set(next, now);
+                    buf.put(lines[next++]);
+                    count--;
+                }
+                room.release(count); // Room not used by this write
+                buf.flip();
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            }
+            channel.shutdownOutput();
+        } catch (IOException | InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Reads result lines up to each frame reply and records the latency of the command they answer
+    private static void receive(SocketChannel channel, AtomicLongArray sent, long[] latency, Semaphore room) {
+        ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+        byte[] line = new byte[FRAME_REPLY.length]; // Start of the current line, enough to spot a frame reply
+        int lineLength = 0;
+        int linesInFrame = 0; // Result lines of the measured command so far
+        long lastLine = 0; // Arrival of its last one
+        int received = 0;
+        try {
+            while (received < latency.length && channel.read(buf) >= 0) {
+                long now = System.nanoTime();
+                buf.flip();
+                while (buf.hasRemaining()) {
+                    byte b = buf.get();
+                    if (b != '\n') {
+                        if (lineLength < line.length) {
+                            line[lineLength] = b;
+                        }
+                        lineLength++;
+                        continue;
+                    }
+                    // A measured command prints at least one line, so the first line of a frame is never its end
+                    boolean frameEnd = linesInFrame > 0 && lineLength == FRAME_REPLY.length
+                            && Arrays.equals(line, FRAME_REPLY);
+                    lineLength = 0;
+                    if (!frameEnd) {
+                        linesInFrame++;
+                        lastLine = now;
+                        continue;
+                    }
+                    latency[received] = lastLine - sent.get(received);
+                    received++;
+                    linesInFrame = 0;
+                    room.release();
+                }
+                buf.clear();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (received < latency.length) {
+            throw new IllegalStateException("connection closed after " + received + " of " + latency.length + " results");
+        }
+    }
+
+    private static long micros(long[] sorted, double p) {
+        return LatencyReport.percentile(sorted, p) / 1000;
+    }
+}
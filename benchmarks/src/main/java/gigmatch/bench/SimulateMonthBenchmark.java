@@ -0,0 +1,60 @@
+package gigmatch.bench;
+
+import gigmatch.PlatformManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlatformManager.simulateMonth over a large population. activePercent of the freelancers
+ * queue a service change before each month (every tenth of them to another service).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SimulateMonthBenchmark {
+
+    @Param({"500000"})
+    public int freelancerCount;
+
+    @Param({"0", "100"})
+    public int activePercent;
+
+    private PlatformManager platform;
+    private int[] handles;
+    private int[] serviceOf; // Service index each freelancer will have after the next month
+    private int month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int perService = freelancerCount / BenchmarkData.SERVICE_TYPES.length;
+        platform = BenchmarkData.platform(perService, 1000, 5);
+        handles = new int[perService * BenchmarkData.SERVICE_TYPES.length];
+        serviceOf = new int[handles.length];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = platform.lookupId("f" + i);
+            serviceOf[i] = i / perService;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void queueChanges() {
+        int active = (int) ((long) handles.length * activePercent / 100);
+        String[] services = BenchmarkData.SERVICE_TYPES;
+        for (int i = 0; i < active; i++) {
+            if (i % 10 == month % 10) {
+                serviceOf[i] = (serviceOf[i] + 1) % services.length;
+            }
+            platform.changeService(handles[i], services[serviceOf[i]], 100 + (i + month) % 400);
+        }
+        month++;
+    }
+
+    @Benchmark
+    public String simulateMonth() {
+        return platform.simulateMonth();
+    }
+}
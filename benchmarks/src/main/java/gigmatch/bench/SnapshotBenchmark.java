@@ -0,0 +1,116 @@
+package gigmatch.bench;
+
+import gigmatch.CommandParser;
+import gigmatch.OutputSink;
+import gigmatch.PlatformManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to bring back a platform of 250k customers and 250k freelancers, by replaying the
+ * command file that built it (replay) or by reading its snapshot (restore). checkpoint
+ * writes the snapshot.
+ *
+ * The command file registers every user, then employs, completes, cancels and blacklists
+ * on part of them and simulates two months, so the snapshot holds active employments,
+ * blacklists, queued service changes and pending loyalty updates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    private static final int CUSTOMERS = 250_000;
+    private static final int PER_SERVICE = 25_000;
+
+    private Path commands;
+    private Path snapshot;
+    private PlatformManager platform;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(21);
+        int freelancers = PER_SERVICE * BenchmarkData.SERVICE_TYPES.length;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            sb.append("register_customer c").append(i).append('\n');
+        }
+        int id = 0;
+        for (String service : BenchmarkData.SERVICE_TYPES) {
+            for (int i = 0; i < PER_SERVICE; i++) {
+                sb.append("register_freelancer f").append(id++).append(' ').append(service)
+                        .append(' ').append(100 + random.nextInt(400));
+                for (int s = 0; s < 5; s++) {
+                    sb.append(' ').append(random.nextInt(101));
+                }
+                sb.append('\n');
+            }
+        }
+        for (int month = 0; month < 2; month++) {
+            for (int i = 0; i < 100_000; i++) {
+                String c = "c" + random.nextInt(CUSTOMERS);
+                String f = "f" + random.nextInt(freelancers);
+                sb.append("employ_freelancer ").append(c).append(' ').append(f).append('\n');
+                switch (random.nextInt(4)) {
+                    case 0:
+                        sb.append("complete_and_rate ").append(f).append(' ').append(random.nextInt(6)).append('\n');
+                        break;
+                    case 1:
+                        sb.append("cancel_by_customer ").append(c).append(' ').append(f).append('\n');
+                        break;
+                    case 2:
+                        sb.append("blacklist ").append(c).append(" f").append(random.nextInt(freelancers)).append('\n');
+                        break;
+                    default:
+                        sb.append("change_service ").append(f).append(" paint 200\n");
+                }
+            }
+            sb.append("simulate_month\n");
+        }
+
+        commands = Files.createTempFile("gigmatch-commands", ".txt");
+        Files.write(commands, sb.toString().getBytes(StandardCharsets.US_ASCII));
+        snapshot = Files.createTempFile("gigmatch-snapshot", ".bin");
+        platform = replay();
+        platform.writeSnapshot(snapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(commands);
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public PlatformManager replay() throws IOException {
+        PlatformManager replayed = new PlatformManager();
+        OutputSink out = new OutputSink(Channels.newChannel(OutputStream.nullOutputStream()));
+        try (FileChannel channel = FileChannel.open(commands)) {
+            new CommandParser(replayed).run(channel, out);
+        }
+        out.flush();
+        return replayed;
+    }
+
+    @Benchmark
+    public PlatformManager restore() throws IOException {
+        return PlatformManager.readSnapshot(snapshot);
+    }
+
+    @Benchmark
+    public void checkpoint() throws IOException {
+        platform.writeSnapshot(snapshot);
+    }
+}
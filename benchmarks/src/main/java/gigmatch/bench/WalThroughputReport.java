@@ -0,0 +1,109 @@
+package gigmatch.bench;
+
+import gigmatch.CommandParser;
+import gigmatch.OutputSink;
+import gigmatch.PlatformManager;
+import gigmatch.WriteAheadLog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Command throughput with a write-ahead log at different group commit sizes.
+ *
+ * Runs a mutation-heavy command file (BenchmarkData.mutationWorkload) through
+ * CommandParser, without a log and with a log that commits every record or every
+ * 4 KB / 64 KB / 1 MB of records. Each commit is one write and one force, so the
+ * forces column is the number of fsyncs. The time threshold is set high, so only size
+ * triggers a commit. Every mode runs once per round and only the last round is reported,
+ * the earlier ones are JIT warm-up.
+ *
+ * Usage: java -cp benchmarks/target/benchmarks.jar gigmatch.bench.WalThroughputReport [commandRounds] [rounds] [dir]
+ */
+public final class WalThroughputReport {
+
+    private static final int[] GROUP_BYTES = {-1, 0, 4 << 10, 64 << 10, 1 << 20}; // -1 = no log
+
+    private WalThroughputReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int commandRounds = (args.length > 0) ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 2;
+        Path base = (args.length > 2) ? Path.of(args[2]) : Path.of(System.getProperty("java.io.tmpdir"));
+
+        Path input = Files.createTempFile(base, "gigmatch-commands", ".txt");
+        Files.write(input, BenchmarkData.mutationWorkload(20_000, 2_000, commandRounds, 22)
+                .getBytes(StandardCharsets.US_ASCII));
+        try {
+            System.out.printf("%-14s %12s %12s %10s %12s%n",
+                    "group commit", "lines/s", "records", "forces", "log bytes");
+            for (int round = 0; round < rounds; round++) {
+                for (int groupBytes : GROUP_BYTES) {
+                    Path dir = Files.createTempDirectory(base, "gigmatch-wal");
+                    try {
+                        run(input, dir, groupBytes, round == rounds - 1);
+                    } finally {
+                        deleteRecursively(dir);
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(input);
+        }
+    }
+
+    private static void run(Path input, Path dir, int groupBytes, boolean print) throws IOException {
+        PlatformManager platform = new PlatformManager();
+        WriteAheadLog wal = groupBytes < 0 ? null
+                : WriteAheadLog.open(dir, platform, groupBytes, 60_000, Long.MAX_VALUE);
+
+        long start = System.nanoTime();
+        CommandParser parser = new CommandParser(platform);
+        // Results are dropped, but flushes still go through the log's gate like in Main
+        WritableByteChannel results = Channels.newChannel(OutputStream.nullOutputStream());
+        OutputSink out = new OutputSink(wal == null ? results : wal.gate(results));
+        try (FileChannel channel = FileChannel.open(input)) {
+            parser.run(channel, out);
+        }
+        out.flush();
+        if (wal != null) {
+            wal.close();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (!print) {
+            return;
+        }
+        String name = groupBytes < 0 ? "no log" : groupBytes == 0 ? "every record" : (groupBytes >> 10) + " KB";
+        double linesPerSecond = parser.getLines() * 1e9 / elapsed;
+        if (wal == null) {
+            System.out.printf("%-14s %12.0f %12s %10s %12s%n", name, linesPerSecond, "-", "-", "-");
+        } else {
+            System.out.printf("%-14s %12.0f %12d %10d %12d%n", name, linesPerSecond,
+                    wal.getRecords(), wal.getCommits(), sizeOf(dir));
+        }
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package gigmatch;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD batch scoring with the incubating Vector API.
+ *
+ * Kept out of src/ because it needs --add-modules jdk.incubator.vector to compile and run.
+ * CompositeScorer loads it reflectively and falls back to its scalar loop when it is absent.
+ * Each lane does the scalar operations in the same order (integer products and sums are
+ * exact in doubles, no fused multiply-add), so the scores are bit for bit the same.
+ *
+ * Rows are expected to be grouped by service: a chunk with one service broadcasts its
+ * profile, a mixed chunk is scored by the scalar loop (gathers and double to int lane
+ * conversions are not intrinsified on JDK 17 and cost more than they save).
+ */
+final class VectorBatchScorer implements BatchKernel {
+
+    // DATA FIELDS
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    // Int lanes matching the double lanes one to one
+    private static final VectorSpecies<Integer> I =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(D.vectorBitSize() / 2));
+
+    private static final double ROUNDING_BIAS = 6755399441055744.0; // 1.5 * 2^52, x + bias - bias rounds to an integer
+
+    // Service tables as doubles
+    private final double[] profileT;
+    private final double[] profileC;
+    private final double[] profileR;
+    private final double[] profileE;
+    private final double[] profileA;
+    private final double[] denominator;
+
+    // CONSTRUCTORS
+    VectorBatchScorer() {
+        int n = CompositeScorer.serviceCount();
+        profileT = new double[n];
+        profileC = new double[n];
+        profileR = new double[n];
+        profileE = new double[n];
+        profileA = new double[n];
+        denominator = new double[n];
+        for (int s = 0; s < n; s++) {
+            profileT[s] = CompositeScorer.PROFILE_T[s];
+            profileC[s] = CompositeScorer.PROFILE_C[s];
+            profileR[s] = CompositeScorer.PROFILE_R[s];
+            profileE[s] = CompositeScorer.PROFILE_E[s];
+            profileA[s] = CompositeScorer.PROFILE_A[s];
+            denominator[s] = CompositeScorer.SKILL_DENOMINATOR[s];
+        }
+    }
+
+    // ---METHODS---
+    @Override
+    public void score(ScoreBatch b, int from, int to) {
+        double[] floored = new double[D.length()];
+        int i = from;
+        int bound = from + D.loopBound(to - from);
+
+        for (; i < bound; i += D.length()) {
+            int s = b.service[i];
+            if (!IntVector.fromArray(I, b.service, i).eq(s).allTrue()) {
+                CompositeScorer.scoreBatchScalar(b, i, i + D.length()); // Mixed services
+                continue;
+            }
+
+            // Skill score: (F·S) / (100 * sum)
+            DoubleVector dot = toDouble(b.t, i).mul(profileT[s])
+                    .add(toDouble(b.c, i).mul(profileC[s]))
+                    .add(toDouble(b.r, i).mul(profileR[s]))
+                    .add(toDouble(b.e, i).mul(profileE[s]))
+                    .add(toDouble(b.a, i).mul(profileA[s]));
+            DoubleVector skill = dot.div(denominator[s]);
+
+            // Rating score
+            DoubleVector rating = DoubleVector.fromArray(D, b.rating, i).div(5.0);
+
+            // Reliability score, 1.0 where there are no jobs yet
+            IntVector cancelledJobs = IntVector.fromArray(I, b.cancelled, i);
+            DoubleVector total = toDouble(IntVector.fromArray(I, b.completed, i).add(cancelledJobs));
+            DoubleVector reliability = DoubleVector.broadcast(D, 1.0).sub(toDouble(cancelledJobs).div(total))
+                    .blend(1.0, total.eq(0.0));
+
+            // Burnout penalty
+            VectorMask<Double> burnout = VectorMask.fromArray(D, b.burnout, i);
+            DoubleVector penalty = DoubleVector.zero(D).blend(CompositeScorer.BURNOUT_PENALTY, burnout);
+
+            // Composite score
+            DoubleVector composite = skill.mul(CompositeScorer.WS)
+                    .add(rating.mul(CompositeScorer.WR))
+                    .add(reliability.mul(CompositeScorer.WL))
+                    .sub(penalty);
+
+            // floor(10000 * composite): round to nearest, then step down where that went up
+            DoubleVector scaled = composite.mul(10000.0);
+            DoubleVector rounded = scaled.add(ROUNDING_BIAS).sub(ROUNDING_BIAS);
+            rounded.sub(1.0, rounded.compare(VectorOperators.GT, scaled)).intoArray(floored, 0);
+            for (int j = 0; j < floored.length; j++) {
+                b.score[i + j] = (int) floored[j]; // Exact, already integral
+            }
+        }
+
+        // Tail rows
+        CompositeScorer.scoreBatchScalar(b, i, to);
+    }
+
+    // ---HELPER METHODS---
+    private static DoubleVector toDouble(int[] column, int i) {
+        return toDouble(IntVector.fromArray(I, column, i));
+    }
+    private static DoubleVector toDouble(IntVector v) {
+        return (DoubleVector) v.convertShape(VectorOperators.I2D, D, 0);
+    }
+
+}
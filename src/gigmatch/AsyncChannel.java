@@ -0,0 +1,132 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * WritableByteChannel that hands writes to a writer thread, so an OutputSink flush does
+ * not wait for the disk. Data is copied into one of a few recycled buffers and written to
+ * the target in order.
+ *
+ * close() waits until everything is written and rethrows the first write failure; it does
+ * not close the target. A failure is also reported by the next write().
+ */
+public final class AsyncChannel implements WritableByteChannel {
+
+    // DATA FIELDS
+    private static final int BUFFER_SIZE = 1 << 20; // Matches OutputSink.FLUSH_SIZE
+    private static final int BUFFERS = 4; // Writes queued ahead of the writer
+    private static final ByteBuffer END = ByteBuffer.allocate(0); // Tells the writer to stop
+
+    private final WritableByteChannel target;
+    private final ArrayBlockingQueue<ByteBuffer> queued;
+    private final ArrayBlockingQueue<ByteBuffer> free;
+    private final Thread writer;
+
+    private volatile IOException failure;
+    private boolean open;
+
+    // CONSTRUCTORS
+    public AsyncChannel(WritableByteChannel target) {
+        this.target = target;
+        this.queued = new ArrayBlockingQueue<>(BUFFERS + 1); // Room for END
+        this.free = new ArrayBlockingQueue<>(BUFFERS);
+        for (int i = 0; i < BUFFERS; i++) {
+            free.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+        }
+        this.open = true;
+        this.writer = new Thread(this::drain, "gigmatch-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ---METHODS---
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        checkFailure();
+
+        int written = src.remaining();
+        try {
+            while (src.hasRemaining()) {
+                ByteBuffer buffer = free.take();
+                buffer.clear();
+                if (src.remaining() > buffer.remaining()) {
+                    ByteBuffer slice = src.duplicate();
+                    slice.limit(slice.position() + buffer.remaining());
+                    buffer.put(slice);
+                    src.position(slice.position());
+                } else {
+                    buffer.put(src);
+                }
+                buffer.flip();
+                queued.put(buffer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    // Waits for the queued writes, the target stays open
+    @Override
+    public void close() throws IOException {
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            queued.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        checkFailure();
+    }
+
+    // ---HELPER METHODS---
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    // Writer thread: writes queued buffers until END, after a failure it only recycles them
+    private void drain() {
+        try {
+            while (true) {
+                ByteBuffer buffer = queued.take();
+                if (buffer == END) {
+                    return;
+                }
+                if (failure == null) {
+                    try {
+                        while (buffer.hasRemaining()) {
+                            target.write(buffer);
+                        }
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                free.put(buffer);
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException();
+        }
+    }
+
+}
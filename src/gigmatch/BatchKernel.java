@@ -0,0 +1,11 @@
+package gigmatch;
+
+/**
+ * Scores rows [from, to) of a ScoreBatch into its score column.
+ * Every implementation must give the same integers as CompositeScorer.score.
+ */
+interface BatchKernel {
+
+    void score(ScoreBatch batch, int from, int to);
+
+}
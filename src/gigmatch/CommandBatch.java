@@ -0,0 +1,175 @@
+package gigmatch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Decoded lines of a command file, filled by CommandParser's reader and run by its engine
+ * loop (on two threads in pipelined mode). Batches are reused.
+ *
+ * Each non-empty line is trimmed like String.trim and its bytes are copied back to back
+ * into one array. Its tokens (split like split("\\s+")) and verb code are recorded next to
+ * it; token t of command i is bytes[tokenStart[i * MAX_TOKENS + t] .. tokenEnd[...]).
+ */
+final class CommandBatch {
+
+    // DATA FIELDS
+    static final int CAPACITY = 4096; // Commands per batch
+    private static final int BYTE_LIMIT = 1 << 18; // A batch is full once it holds this many bytes
+    static final int MAX_TOKENS = 9; // register_freelancer, longer lines are only counted
+
+    // Verbs, indexed by the codes below
+    private static final byte[][] VERBS = {
+            ascii("register_customer"), ascii("register_freelancer"), ascii("request_job"),
+            ascii("employ_freelancer"), ascii("complete_and_rate"), ascii("cancel_by_freelancer"),
+            ascii("cancel_by_customer"), ascii("blacklist"), ascii("unblacklist"),
+            ascii("change_service"), ascii("simulate_month"), ascii("query_freelancer"),
+            ascii("query_customer"), ascii("update_skill"), ascii("checkpoint")
+    };
+    static final int REGISTER_CUSTOMER = 0;
+    static final int REGISTER_FREELANCER = 1;
+    static final int REQUEST_JOB = 2;
+    static final int EMPLOY_FREELANCER = 3;
+    static final int COMPLETE_AND_RATE = 4;
+    static final int CANCEL_BY_FREELANCER = 5;
+    static final int CANCEL_BY_CUSTOMER = 6;
+    static final int BLACKLIST = 7;
+    static final int UNBLACKLIST = 8;
+    static final int CHANGE_SERVICE = 9;
+    static final int SIMULATE_MONTH = 10;
+    static final int QUERY_FREELANCER = 11;
+    static final int QUERY_CUSTOMER = 12;
+    static final int UPDATE_SKILL = 13;
+    static final int CHECKPOINT = 14;
+    static final int UNKNOWN = -1; // First token is not a verb
+    static final int NON_ASCII = -2; // Line is run as a String by Main.processCommand
+
+    byte[] bytes; // Trimmed lines back to back
+    int byteCount;
+    int count; // Commands in the batch
+
+    final int[] lineStart; // Line i is bytes[lineStart[i] .. lineEnd[i])
+    final int[] lineEnd;
+    final int[] verb;
+    final int[] tokenCount; // All tokens, even past MAX_TOKENS
+    final int[] tokenStart;
+    final int[] tokenEnd;
+
+    // Pipelined mode: the reader marks its final batch (and any read failure)
+    boolean last;
+    Exception failure;
+
+    // CONSTRUCTORS
+    CommandBatch() {
+        this.bytes = new byte[BYTE_LIMIT + (BYTE_LIMIT >>> 2)];
+        this.lineStart = new int[CAPACITY];
+        this.lineEnd = new int[CAPACITY];
+        this.verb = new int[CAPACITY];
+        this.tokenCount = new int[CAPACITY];
+        this.tokenStart = new int[CAPACITY * MAX_TOKENS];
+        this.tokenEnd = new int[CAPACITY * MAX_TOKENS];
+        clear();
+    }
+
+    // ---METHODS---
+    boolean isFull() {
+        return count == CAPACITY || byteCount >= BYTE_LIMIT;
+    }
+
+    void clear() {
+        byteCount = 0;
+        count = 0;
+        last = false;
+        failure = null;
+    }
+
+    // Adds the line in src[from .. to), empty lines are skipped
+    void add(byte[] src, int from, int to) {
+        // Same as String.trim
+        while (from < to && (src[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (src[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return;
+        }
+
+        int length = to - from;
+        if (byteCount + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + length));
+        }
+        System.arraycopy(src, from, bytes, byteCount, length);
+        int start = byteCount;
+        int end = start + length;
+        byteCount = end;
+
+        int i = count++;
+        lineStart[i] = start;
+        lineEnd[i] = end;
+
+        int ascii = 0;
+        for (int j = start; j < end; j++) {
+            ascii |= bytes[j];
+        }
+        if (ascii < 0) {
+            verb[i] = NON_ASCII;
+            return;
+        }
+
+        tokenize(i, start, end);
+        verb[i] = verb(tokenStart[i * MAX_TOKENS], tokenEnd[i * MAX_TOKENS]);
+    }
+
+    // Name of a verb code
+    static String verbName(int verb) {
+        return new String(VERBS[verb], StandardCharsets.US_ASCII);
+    }
+
+    // ---HELPER METHODS---
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Separators of split("\\s+"), line breaks never reach the tokenizer
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == 0x0B || b == '\f' || b == '\r';
+    }
+
+    // Splits line i (bytes[from .. to), from and to are not whitespace) on whitespace
+    private void tokenize(int line, int from, int to) {
+        int base = line * MAX_TOKENS;
+        int tokens = 0;
+        int i = from;
+        while (i < to) {
+            while (isSpace(bytes[i])) {
+                i++;
+            }
+            int start = i;
+            while (i < to && !isSpace(bytes[i])) {
+                i++;
+            }
+            if (tokens < MAX_TOKENS) {
+                tokenStart[base + tokens] = start;
+                tokenEnd[base + tokens] = i;
+            }
+            tokens++;
+        }
+        tokenCount[line] = tokens;
+    }
+
+    // Code of the verb in bytes[start .. end), UNKNOWN if there is none
+    private int verb(int start, int end) {
+        int length = end - start;
+        for (int v = 0; v < VERBS.length; v++) {
+            byte[] name = VERBS[v];
+            if (name.length == length && name[0] == bytes[start]
+                    && Arrays.equals(name, 0, length, bytes, start, end)) {
+                return v;
+            }
+        }
+        return UNKNOWN;
+    }
+
+}
@@ -0,0 +1,483 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static gigmatch.CommandBatch.*;
+
+/**
+ * Runs a command file on a PlatformManager, reading it through memory-mapped windows.
+ *
+ * The reader splits the input into lines and decodes them into CommandBatches (trimmed
+ * bytes, token bounds, verb code). The engine loop parses numbers on the bytes, resolves
+ * IDs with IdDictionary.lookup on the same bytes and runs the commands in order. Strings
+ * are only created for new IDs, unknown service names and error lines.
+ *
+ * run() does both on the calling thread. runPipelined() reads on a parser thread that
+ * stays up to RING_SIZE batches ahead, so decoding overlaps with execution; with an
+ * AsyncChannel under the OutputSink, writing overlaps too.
+ *
+ * Results are the same as Main.processCommand, which still handles lines with non-ASCII
+ * bytes (decoded with the default charset, like FileReader).
+ */
+public final class CommandParser {
+
+    // DATA FIELDS
+    private static final long WINDOW = 1L << 28; // Bytes mapped at a time
+    private static final int CHUNK = 1 << 16; // Bytes copied out of the mapping at a time
+    private static final int RING_SIZE = 4; // Decoded batches the parser thread may run ahead
+
+    private final PlatformManager platform;
+    private final IdDictionary ids;
+
+    private byte[] pending; // Start of a line that continues in the next chunk
+    private int pendingLength;
+
+    // Command being run, its token t is buf[tokenStart[base + t] .. tokenEnd[base + t])
+    private int[] tokenStart;
+    private int[] tokenEnd;
+    private int base;
+    private int tokenCount;
+
+    private long lines; // Non-empty lines run so far
+
+    // Hands a full batch on and returns an empty one to fill next
+    interface BatchHandler {
+        CommandBatch next(CommandBatch full) throws IOException, InterruptedException;
+    }
+
+    // CONSTRUCTORS
+    public CommandParser(PlatformManager platform) {
+        this(platform, platform.getIds());
+    }
+
+    // Reader only (decode), platform and ids are null
+    private CommandParser(PlatformManager platform, IdDictionary ids) {
+        this.platform = platform;
+        this.ids = ids;
+        this.pending = new byte[256];
+        this.pendingLength = 0;
+        this.lines = 0;
+    }
+
+    // Reader only, for PlatformServer sessions: they feed socket reads to scan, then finish
+    static CommandParser lineReader() {
+        return new CommandParser(null, null);
+    }
+
+    // GETTERS
+    public long getLines() {return lines;}
+    int getPendingLength() {return pendingLength;} // Bytes of a line not ended yet
+
+    // ---METHODS---
+    // Runs every line of the input and writes one result line per command
+    public void run(FileChannel input, OutputSink out) throws IOException {
+        try {
+            CommandBatch last = read(input, new CommandBatch(), full -> {
+                execute(full, out);
+                full.clear();
+                return full;
+            });
+            execute(last, out);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    // Same results as run(), with the input read and decoded on a separate thread
+    public void runPipelined(FileChannel input, OutputSink out) throws IOException {
+        ArrayBlockingQueue<CommandBatch> filled = new ArrayBlockingQueue<>(RING_SIZE);
+        ArrayBlockingQueue<CommandBatch> free = new ArrayBlockingQueue<>(RING_SIZE + 2);
+        for (int i = 0; i < RING_SIZE + 2; i++) { // Ring, plus one being filled and one being run
+            free.add(new CommandBatch());
+        }
+
+        Thread parser = new Thread(() -> {
+            CommandBatch last = null;
+            Exception failure = null;
+            try {
+                last = read(input, free.take(), full -> {
+                    filled.put(full);
+                    return free.take();
+                });
+            } catch (InterruptedException e) {
+                return; // The engine gave up
+            } catch (Exception e) {
+                failure = e;
+            }
+
+            // Always ends the stream, on failure with an empty batch that carries the cause
+            try {
+                if (last == null) {
+                    last = free.take();
+                    last.clear();
+                }
+                last.last = true;
+                last.failure = failure;
+                filled.put(last);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "gigmatch-parser");
+        parser.setDaemon(true);
+        parser.start();
+
+        try {
+            while (true) {
+                CommandBatch batch = filled.take();
+                execute(batch, out);
+                if (batch.failure != null) {
+                    throw batch.failure instanceof IOException
+                            ? (IOException) batch.failure
+                            : new IOException(batch.failure);
+                }
+                if (batch.last) {
+                    break;
+                }
+                batch.clear();
+                free.put(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            parser.interrupt(); // No-op once it is done, unblocks it otherwise
+        }
+    }
+
+    // Decodes the input into batches without running them (CommandTrace converts them)
+    static void decode(FileChannel input, BatchHandler handler) throws IOException {
+        try {
+            CommandBatch last = new CommandParser(null, null).read(input, new CommandBatch(), handler);
+            handler.next(last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    // ---HELPER METHODS---
+    // Splits the input into lines and fills batches; returns the last, partly filled batch
+    private CommandBatch read(FileChannel input, CommandBatch batch, BatchHandler handler)
+            throws IOException, InterruptedException {
+        byte[] chunk = new byte[CHUNK];
+        long size = input.size();
+        long position = 0;
+        pendingLength = 0;
+
+        while (position < size) {
+            long window = Math.min(WINDOW, size - position);
+            MappedByteBuffer buffer = input.map(FileChannel.MapMode.READ_ONLY, position, window);
+            while (buffer.hasRemaining()) {
+                int n = Math.min(CHUNK, buffer.remaining());
+                buffer.get(chunk, 0, n);
+                batch = scan(chunk, n, batch, handler);
+            }
+            position += window;
+        }
+
+        return finish(batch, handler);
+    }
+
+    // Adds the last line if it has no line break
+    CommandBatch finish(CommandBatch batch, BatchHandler handler) throws IOException, InterruptedException {
+        if (pendingLength > 0) {
+            batch = addLine(pending, 0, pendingLength, batch, handler);
+            pendingLength = 0;
+        }
+        return batch;
+    }
+
+    // Splits a chunk into lines ('\n', '\r' and "\r\n" end a line, like readLine). The
+    // part after the last line break is kept for the next chunk.
+    CommandBatch scan(byte[] chunk, int n, CommandBatch batch, BatchHandler handler)
+            throws IOException, InterruptedException {
+        int start = 0;
+        for (int i = 0; i < n; i++) {
+            byte b = chunk[i];
+            if (b == '\n' || b == '\r') {
+                if (pendingLength > 0) {
+                    appendPending(chunk, start, i);
+                    batch = addLine(pending, 0, pendingLength, batch, handler);
+                    pendingLength = 0;
+                } else {
+                    batch = addLine(chunk, start, i, batch, handler);
+                }
+                start = i + 1;
+            }
+        }
+        appendPending(chunk, start, n);
+        return batch;
+    }
+
+    private CommandBatch addLine(byte[] buf, int from, int to, CommandBatch batch, BatchHandler handler)
+            throws IOException, InterruptedException {
+        batch.add(buf, from, to);
+        return batch.isFull() ? handler.next(batch) : batch;
+    }
+
+    private void appendPending(byte[] chunk, int from, int to) {
+        int length = to - from;
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(chunk, from, pending, pendingLength, length);
+        pendingLength += length;
+    }
+
+    // Runs the commands of a batch in order, one result line each (PlatformServer runs the
+    // batches of its sessions with this)
+    void execute(CommandBatch batch, OutputSink out) throws IOException {
+        byte[] buf = batch.bytes;
+        tokenStart = batch.tokenStart;
+        tokenEnd = batch.tokenEnd;
+
+        for (int i = 0; i < batch.count; i++) {
+            int from = batch.lineStart[i];
+            int to = batch.lineEnd[i];
+            int verb = batch.verb[i];
+            lines++;
+
+            if (verb == NON_ASCII) {
+                String line = new String(buf, from, to - from, Charset.defaultCharset()).trim();
+                if (!line.isEmpty()) {
+                    Main.processCommand(line, out, platform);
+                }
+                continue;
+            }
+
+            base = i * MAX_TOKENS;
+            tokenCount = batch.tokenCount[i];
+            int mark = out.mark();
+            try {
+                execute(buf, verb, out);
+            } catch (Exception e) {
+                out.rollback(mark); // Drops a partial result
+                out.append("Error processing command: ").append(buf, from, to - from);
+            }
+            out.endLine();
+        }
+    }
+
+    // Runs the tokenized command, arity checks and messages follow Main.processCommand
+    private void execute(byte[] buf, int verb, OutputSink out) {
+        switch (verb) {
+            case REGISTER_CUSTOMER:
+                if (tokenCount == 2) {
+                    platform.registerCustomer(token(buf, 1), out);
+                    return;
+                }
+                out.append("Some error occurred in register_customer.");
+                return;
+
+            case REGISTER_FREELANCER:
+                if (tokenCount == 9) {
+                    String freelancerID = token(buf, 1);
+                    String serviceType = service(buf, 2);
+                    int servicePrice = parseInt(buf, 3);
+                    int T = parseInt(buf, 4);
+                    int C = parseInt(buf, 5);
+                    int R = parseInt(buf, 6);
+                    int E = parseInt(buf, 7);
+                    int A = parseInt(buf, 8);
+                    platform.registerFreelancer(freelancerID, serviceType, servicePrice, T, C, R, E, A, out);
+                    return;
+                }
+                out.append("Some error occurred in register_freelancer.");
+                return;
+
+            case REQUEST_JOB:
+                if (tokenCount == 4) {
+                    int customerHandle = handle(buf, 1);
+                    String serviceName = service(buf, 2);
+                    int topK = parseInt(buf, 3);
+                    platform.requestJob(customerHandle, serviceName, topK, out);
+                    return;
+                }
+                out.append("Some error occurred in request_job.");
+                return;
+
+            case EMPLOY_FREELANCER:
+                if (tokenCount == 3) {
+                    platform.employ(handle(buf, 1), handle(buf, 2), out);
+                    return;
+                }
+                out.append("Some error occurred in employ.");
+                return;
+
+            case COMPLETE_AND_RATE:
+                if (tokenCount == 3) {
+                    int freelancerHandle = handle(buf, 1);
+                    int rating = parseInt(buf, 2);
+                    platform.completeAndRate(freelancerHandle, rating, out);
+                    return;
+                }
+                out.append("Some error occurred in complete_and_rate.");
+                return;
+
+            case CANCEL_BY_FREELANCER:
+                if (tokenCount == 2) {
+                    platform.cancelByFreelancer(handle(buf, 1), out);
+                    return;
+                }
+                out.append("Some error occurred in cancel_by_freelancer.");
+                return;
+
+            case CANCEL_BY_CUSTOMER:
+                if (tokenCount == 3) {
+                    platform.cancelByCustomer(handle(buf, 1), handle(buf, 2), out);
+                    return;
+                }
+                out.append("Some error occurred in cancel_by_customer.");
+                return;
+
+            case BLACKLIST:
+                if (tokenCount == 3) {
+                    platform.blacklist(handle(buf, 1), handle(buf, 2), out);
+                    return;
+                }
+                out.append("Some error occurred in blacklist.");
+                return;
+
+            case UNBLACKLIST:
+                if (tokenCount == 3) {
+                    platform.unblacklist(handle(buf, 1), handle(buf, 2), out);
+                    return;
+                }
+                out.append("Some error occurred in unblacklist.");
+                return;
+
+            case CHANGE_SERVICE:
+                if (tokenCount == 4) {
+                    int freelancerHandle = handle(buf, 1);
+                    String newService = service(buf, 2);
+                    int newPrice = parseInt(buf, 3);
+                    platform.changeService(freelancerHandle, newService, newPrice, out);
+                    return;
+                }
+                out.append("Some error occurred in change_service.");
+                return;
+
+            case SIMULATE_MONTH:
+                platform.simulateMonth(out);
+                return;
+
+            case QUERY_FREELANCER:
+                if (tokenCount == 2) {
+                    platform.queryFreelancer(handle(buf, 1), out);
+                    return;
+                }
+                out.append("Some error occurred in query_freelancer.");
+                return;
+
+            case QUERY_CUSTOMER:
+                if (tokenCount == 2) {
+                    platform.queryCustomer(handle(buf, 1), out);
+                    return;
+                }
+                out.append("Some error occurred in query_customer.");
+                return;
+
+            case UPDATE_SKILL:
+                if (tokenCount == 7) {
+                    int freelancerHandle = handle(buf, 1);
+                    int T = parseInt(buf, 2);
+                    int C = parseInt(buf, 3);
+                    int R = parseInt(buf, 4);
+                    int E = parseInt(buf, 5);
+                    int A = parseInt(buf, 6);
+                    platform.updateSkill(freelancerHandle, T, C, R, E, A, out);
+                    return;
+                }
+                out.append("Some error occurred in update_skill.");
+                return;
+
+            case CHECKPOINT:
+                if (tokenCount == 2) {
+                    platform.checkpoint(token(buf, 1), out);
+                    return;
+                }
+                out.append("Some error occurred in checkpoint.");
+                return;
+
+            default:
+                out.append("Unknown command: ").append(token(buf, 0));
+        }
+    }
+
+    // Token t as a String (ASCII)
+    private String token(byte[] buf, int t) {
+        return new String(buf, tokenStart[base + t], tokenEnd[base + t] - tokenStart[base + t], StandardCharsets.ISO_8859_1);
+    }
+
+    // Handle of the ID in token t, -1 if it is unknown
+    private int handle(byte[] buf, int t) {
+        return ids.lookup(buf, tokenStart[base + t], tokenEnd[base + t] - tokenStart[base + t]);
+    }
+
+    // Service name in token t, the shared constant when the service exists
+    private String service(byte[] buf, int t) {
+        int start = tokenStart[base + t];
+        int length = tokenEnd[base + t] - start;
+        for (int s = 0; s < CompositeScorer.serviceCount(); s++) {
+            String name = CompositeScorer.serviceName(s);
+            if (name.length() == length && equalsAscii(name, buf, start)) {
+                return name;
+            }
+        }
+        return token(buf, t);
+    }
+
+    private static boolean equalsAscii(String s, byte[] buf, int start) {
+        for (int i = 0; i < s.length(); i++) {
+            if (buf[start + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Integer.parseInt on token t (ASCII digits, optional sign, same overflow rules)
+    private int parseInt(byte[] buf, int t) {
+        int i = tokenStart[base + t];
+        int end = tokenEnd[base + t];
+
+        boolean negative = false;
+        int limit = -Integer.MAX_VALUE;
+        byte first = buf[i];
+        if (first == '-' || first == '+') {
+            if (first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            }
+            i++;
+            if (i == end) {
+                throw new NumberFormatException(token(buf, t));
+            }
+        }
+
+        // Accumulates negatively so that MIN_VALUE fits
+        int multmin = limit / 10;
+        int result = 0;
+        while (i < end) {
+            int digit = buf[i++] - '0';
+            if (digit < 0 || digit > 9 || result < multmin) {
+                throw new NumberFormatException(token(buf, t));
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException(token(buf, t));
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+}
@@ -0,0 +1,495 @@
+package gigmatch;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static gigmatch.CommandBatch.*;
+
+/**
+ * Binary command traces: convert() turns a text command file into a trace, run() replays
+ * a trace on a PlatformManager with the same results as the text file.
+ *
+ * A trace starts with a header (little endian): magic, version, command count, ID count,
+ * then every ID as a varint length and its bytes. Commands follow as one opcode byte (the
+ * verb code) and their arguments in text order: IDs as varint indexes into the header
+ * dictionary, services as one byte, skills as one byte each and other ints as zigzag
+ * varints. Lines that would not print back the same way (unknown verbs, wrong arity,
+ * non-canonical spacing or numbers, unknown services, non-ASCII bytes) are stored as RAW
+ * records holding the trimmed line bytes, and replayed through Main.processCommand.
+ *
+ * Replay checks every decoded value before it is used (opcode, ID index, service, lengths),
+ * so a damaged trace stops with an IOException instead of running garbage.
+ */
+public final class CommandTrace {
+
+    // DATA FIELDS
+    private static final int MAGIC = 0x52544D47; // "GMTR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20; // Magic, version, command count, ID count
+    private static final int RAW = 0x7F; // Opcode of a line kept as text
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_RECORD = 64; // Bytes of the longest non-RAW record
+
+    // Argument kinds after the verb, indexed by opcode (checkpoint lines stay text):
+    // i = ID, s = service, n = int, k = skill (0..255)
+    private static final String[] LAYOUT = {
+            "i", "isnkkkkk", "isn", "ii", "in", "i", "ii", "ii", "ii", "isn", "", "i", "i", "ikkkkk"
+    };
+    private static final int MAX_ARGS = 8;
+
+    private final PlatformManager platform;
+    private final IdDictionary ids;
+
+    private String[] names; // Header dictionary
+    private int[] handles; // Engine handle of names[i], -1 until it is registered
+
+    // Read buffer over the trace
+    private byte[] buf;
+    private int pos;
+    private int limit;
+    private FileChannel input;
+
+    private final int[] args; // Arguments of the command being run
+    private long commands; // Commands run so far
+
+    // CONSTRUCTORS
+    public CommandTrace(PlatformManager platform) {
+        this.platform = platform;
+        this.ids = platform.getIds();
+        this.buf = new byte[BUFFER_SIZE];
+        this.args = new int[MAX_ARGS];
+        this.commands = 0;
+    }
+
+    // GETTERS
+    public long getCommands() {return commands;}
+
+    // ---METHODS---
+    // Checks whether the file starts with the trace magic
+    public static boolean isTrace(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // Reads until 4 bytes or end of file
+        }
+        return head.position() == 4 && head.getInt(0) == MAGIC;
+    }
+
+    // Converts a text command file into a trace, returns the number of commands
+    public static long convert(Path text, Path trace) throws IOException {
+        Path body = Files.createTempFile(trace.toAbsolutePath().getParent(), "trace", ".body");
+        try {
+            IdDictionary dictionary = new IdDictionary();
+            long count;
+            try (FileChannel input = FileChannel.open(text);
+                 FileChannel output = FileChannel.open(body, StandardOpenOption.WRITE)) {
+                TraceWriter writer = new TraceWriter(output, dictionary);
+                CommandParser.decode(input, batch -> {
+                    writer.write(batch);
+                    batch.clear();
+                    return batch;
+                });
+                writer.flush();
+                count = writer.count;
+            }
+
+            try (FileChannel output = FileChannel.open(trace, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 FileChannel input = FileChannel.open(body)) {
+                writeHeader(output, dictionary, count);
+                long size = input.size();
+                long position = 0;
+                while (position < size) {
+                    position += input.transferTo(position, size - position, output);
+                }
+            }
+            return count;
+        } finally {
+            Files.deleteIfExists(body);
+        }
+    }
+
+    // Replays every command of the trace and writes one result line per command
+    public void run(FileChannel trace, OutputSink out) throws IOException {
+        input = trace;
+        pos = 0;
+        limit = 0;
+        readHeader();
+
+        while (fill(1)) {
+            fill(MAX_RECORD); // May stop short at the end of the trace
+            int op = buf[pos++];
+            commands++;
+            if (op != RAW && (op < 0 || op >= LAYOUT.length)) {
+                throw corrupt();
+            }
+
+            if (op == RAW) {
+                int length = readVarint();
+                if (length < 0 || length > input.size()) {
+                    throw corrupt();
+                }
+                if (!fill(length)) {
+                    throw new EOFException("Truncated trace");
+                }
+                String line = new String(buf, pos, length, Charset.defaultCharset()).trim();
+                pos += length;
+                if (!line.isEmpty()) {
+                    Main.processCommand(line, out, platform);
+                }
+                continue;
+            }
+
+            String layout = LAYOUT[op];
+            for (int a = 0; a < layout.length(); a++) {
+                char kind = layout.charAt(a);
+                if (kind == 'n') {
+                    int v = readVarint();
+                    args[a] = (v >>> 1) ^ -(v & 1);
+                } else if (kind == 'i') {
+                    args[a] = readVarint();
+                    if (args[a] < 0 || args[a] >= names.length) {
+                        throw corrupt();
+                    }
+                } else {
+                    if (pos == limit) {
+                        throw corrupt(); // fill(MAX_RECORD) stopped at the end of the trace
+                    }
+                    args[a] = buf[pos++] & 0xFF;
+                    if (kind == 's' && args[a] >= CompositeScorer.serviceCount()) {
+                        throw corrupt();
+                    }
+                }
+            }
+
+            int mark = out.mark();
+            try {
+                execute(op, out);
+            } catch (Exception e) {
+                out.rollback(mark); // Drops a partial result
+                out.append("Error processing command: ").append(line(op));
+            }
+            out.endLine();
+        }
+    }
+
+    // ---HELPER METHODS---
+    private IOException corrupt() {
+        return new IOException("Corrupt trace at command " + commands);
+    }
+
+    // Runs a decoded command, arguments are in args
+    private void execute(int op, OutputSink out) {
+        switch (op) {
+            case REGISTER_CUSTOMER:
+                platform.registerCustomer(names[args[0]], out);
+                return;
+            case REGISTER_FREELANCER:
+                platform.registerFreelancer(names[args[0]], CompositeScorer.serviceName(args[1]), args[2],
+                        args[3], args[4], args[5], args[6], args[7], out);
+                return;
+            case REQUEST_JOB:
+                platform.requestJob(handle(0), CompositeScorer.serviceName(args[1]), args[2], out);
+                return;
+            case EMPLOY_FREELANCER:
+                platform.employ(handle(0), handle(1), out);
+                return;
+            case COMPLETE_AND_RATE:
+                platform.completeAndRate(handle(0), args[1], out);
+                return;
+            case CANCEL_BY_FREELANCER:
+                platform.cancelByFreelancer(handle(0), out);
+                return;
+            case CANCEL_BY_CUSTOMER:
+                platform.cancelByCustomer(handle(0), handle(1), out);
+                return;
+            case BLACKLIST:
+                platform.blacklist(handle(0), handle(1), out);
+                return;
+            case UNBLACKLIST:
+                platform.unblacklist(handle(0), handle(1), out);
+                return;
+            case CHANGE_SERVICE:
+                platform.changeService(handle(0), CompositeScorer.serviceName(args[1]), args[2], out);
+                return;
+            case SIMULATE_MONTH:
+                platform.simulateMonth(out);
+                return;
+            case QUERY_FREELANCER:
+                platform.queryFreelancer(handle(0), out);
+                return;
+            case QUERY_CUSTOMER:
+                platform.queryCustomer(handle(0), out);
+                return;
+            case UPDATE_SKILL:
+                platform.updateSkill(handle(0), args[1], args[2], args[3], args[4], args[5], out);
+                return;
+            default:
+                throw new IllegalStateException("Bad opcode " + op);
+        }
+    }
+
+    // Engine handle of the ID in argument a, -1 while it is not registered
+    private int handle(int a) {
+        int i = args[a];
+        int h = handles[i];
+        if (h < 0) {
+            h = ids.lookup(names[i]);
+            handles[i] = h; // Handles are never reused, so a found one stays valid
+        }
+        return h;
+    }
+
+    // Text line of the decoded command, as it was in the source file
+    private String line(int op) {
+        StringBuilder sb = new StringBuilder(CommandBatch.verbName(op));
+        String layout = LAYOUT[op];
+        for (int a = 0; a < layout.length(); a++) {
+            sb.append(' ');
+            char kind = layout.charAt(a);
+            if (kind == 'i') {
+                sb.append(names[args[a]]);
+            } else if (kind == 's') {
+                sb.append(CompositeScorer.serviceName(args[a]));
+            } else {
+                sb.append(args[a]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void readHeader() throws IOException {
+        if (!fill(HEADER_SIZE)) {
+            throw new EOFException("Truncated trace header");
+        }
+        ByteBuffer header = ByteBuffer.wrap(buf, pos, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a version " + VERSION + " command trace");
+        }
+        header.getLong(); // Command count, only for tools
+        int idCount = header.getInt();
+        pos += HEADER_SIZE;
+        if (idCount < 0 || idCount > input.size()) { // An ID takes at least its length byte
+            throw new IOException("Corrupt trace header");
+        }
+
+        names = new String[idCount];
+        handles = new int[idCount];
+        for (int i = 0; i < idCount; i++) {
+            fill(5);
+            int length = readVarint();
+            if (length < 0 || length > input.size()) {
+                throw new IOException("Corrupt trace header");
+            }
+            if (!fill(length)) {
+                throw new EOFException("Truncated trace header");
+            }
+            names[i] = new String(buf, pos, length, StandardCharsets.US_ASCII);
+            pos += length;
+            handles[i] = ids.lookup(names[i]);
+        }
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (pos == limit && !fill(1)) {
+                throw new EOFException("Truncated trace");
+            }
+            byte b = buf[pos++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Bad varint in trace");
+    }
+
+    // Makes n bytes readable at pos if the trace has them, false at the end of the trace
+    private boolean fill(int n) throws IOException {
+        if (limit - pos >= n) {
+            return true;
+        }
+        if (n > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, n));
+        }
+        System.arraycopy(buf, pos, buf, 0, limit - pos);
+        limit -= pos;
+        pos = 0;
+
+        ByteBuffer target = ByteBuffer.wrap(buf, limit, buf.length - limit);
+        while (limit < n) {
+            int read = input.read(target);
+            if (read < 0) {
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+
+    private static void writeHeader(FileChannel output, IdDictionary dictionary, long count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(count).putInt(dictionary.size()).flip();
+        writeFully(output, header);
+
+        TraceWriter names = new TraceWriter(output, null);
+        for (int i = 0; i < dictionary.size(); i++) {
+            byte[] name = dictionary.name(i).getBytes(StandardCharsets.US_ASCII);
+            names.writeVarint(name.length);
+            names.writeBytes(name, 0, name.length);
+        }
+        names.flush();
+    }
+
+    private static void writeFully(FileChannel output, ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            output.write(src);
+        }
+    }
+
+    // Encodes decoded text lines into trace records
+    private static final class TraceWriter {
+
+        // DATA FIELDS
+        private final FileChannel output;
+        private final IdDictionary dictionary; // Trace IDs, null when only raw bytes are written
+        private final byte[] out;
+        private int size;
+        private long count; // Records written
+
+        private final int[] values; // Arguments of the line being encoded
+
+        // CONSTRUCTORS
+        TraceWriter(FileChannel output, IdDictionary dictionary) {
+            this.output = output;
+            this.dictionary = dictionary;
+            this.out = new byte[BUFFER_SIZE];
+            this.values = new int[MAX_ARGS];
+        }
+
+        // ---METHODS---
+        void write(CommandBatch batch) throws IOException {
+            for (int i = 0; i < batch.count; i++) {
+                if (!encode(batch, i)) {
+                    int length = batch.lineEnd[i] - batch.lineStart[i];
+                    reserve(1 + 5);
+                    out[size++] = RAW;
+                    writeVarint(length);
+                    writeBytes(batch.bytes, batch.lineStart[i], length);
+                }
+                count++;
+            }
+        }
+
+        void flush() throws IOException {
+            writeFully(output, ByteBuffer.wrap(out, 0, size));
+            size = 0;
+        }
+
+        void writeVarint(int v) throws IOException {
+            reserve(5);
+            while ((v & ~0x7F) != 0) {
+                out[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out[size++] = (byte) v;
+        }
+
+        void writeBytes(byte[] src, int off, int len) throws IOException {
+            while (len > 0) {
+                reserve(1);
+                int n = Math.min(len, out.length - size);
+                System.arraycopy(src, off, out, size, n);
+                size += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        // ---HELPER METHODS---
+        private void reserve(int n) throws IOException {
+            if (out.length - size < n) {
+                flush();
+            }
+        }
+
+        // Writes line i as a command record, false if it has to stay text
+        private boolean encode(CommandBatch batch, int i) throws IOException {
+            int op = batch.verb[i];
+            if (op < 0 || op >= LAYOUT.length || batch.tokenCount[i] != LAYOUT[op].length() + 1 || !isCanonical(batch, i)) {
+                return false;
+            }
+
+            byte[] bytes = batch.bytes;
+            String layout = LAYOUT[op];
+            int base = i * MAX_TOKENS;
+            for (int a = 0; a < layout.length(); a++) {
+                int start = batch.tokenStart[base + a + 1];
+                int end = batch.tokenEnd[base + a + 1];
+                String token = new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+                char kind = layout.charAt(a);
+                if (kind == 'i') {
+                    int index = dictionary.lookup(bytes, start, end - start);
+                    values[a] = index >= 0 ? index : dictionary.intern(token);
+                } else if (kind == 's') {
+                    values[a] = CompositeScorer.serviceIndex(token);
+                    if (values[a] < 0) {
+                        return false;
+                    }
+                } else {
+                    Integer value = canonicalInt(token);
+                    if (value == null || (kind == 'k' && (value < 0 || value > 255))) {
+                        return false;
+                    }
+                    values[a] = value;
+                }
+            }
+
+            reserve(MAX_RECORD);
+            out[size++] = (byte) op;
+            for (int a = 0; a < layout.length(); a++) {
+                char kind = layout.charAt(a);
+                if (kind == 'i') {
+                    writeVarint(values[a]);
+                } else if (kind == 'n') {
+                    writeVarint((values[a] << 1) ^ (values[a] >> 31));
+                } else {
+                    out[size++] = (byte) values[a];
+                }
+            }
+            return true;
+        }
+
+        // Tokens are separated by single spaces, so the line can be rebuilt from them
+        private static boolean isCanonical(CommandBatch batch, int i) {
+            int base = i * MAX_TOKENS;
+            for (int t = 1; t < batch.tokenCount[i]; t++) {
+                int gap = batch.tokenEnd[base + t - 1];
+                if (batch.tokenStart[base + t] != gap + 1 || batch.bytes[gap] != ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Value of an int token that prints back the same, null otherwise
+        private static Integer canonicalInt(String token) {
+            try {
+                int value = Integer.parseInt(token);
+                return Integer.toString(value).equals(token) ? value : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+}
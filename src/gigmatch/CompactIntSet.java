@@ -0,0 +1,120 @@
+package gigmatch;
+
+/**
+ * Static helpers for a compact set of non-negative int keys held in an Object field.
+ *
+ * The field is null while the set is empty, an int[] of exactly size keys while it has
+ * at most INLINE_MAX entries, and a MyIntHashSet once it grows past that. Every mutator
+ * returns the representation the caller must store back into its field.
+ */
+public final class CompactIntSet {
+
+    // DATA FIELDS
+    static final int INLINE_MAX = 4; // Largest set kept as a plain array
+    private static final int[] NONE = new int[0];
+
+    // CONSTRUCTORS
+    private CompactIntSet() {}
+
+    // ---METHODS---
+    // Checks if the set contains a key
+    public static boolean contains(Object set, int key) {
+        if (set == null) {
+            return false;
+        }
+        if (set instanceof int[]) {
+            for (int k : (int[]) set) {
+                if (k == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return ((MyIntHashSet) set).contains(key);
+    }
+
+    // Adds a key, returns the set to store
+    public static Object add(Object set, int key) {
+        if (key < 0) {
+            return set;
+        }
+        if (set == null) {
+            return new int[] {key};
+        }
+        if (set instanceof int[]) {
+            int[] keys = (int[]) set;
+            if (contains(keys, key)) {
+                return keys;
+            }
+            if (keys.length < INLINE_MAX) {
+                int[] grown = new int[keys.length + 1];
+                System.arraycopy(keys, 0, grown, 0, keys.length);
+                grown[keys.length] = key;
+                return grown;
+            }
+
+            // Promotes to a hashed set
+            MyIntHashSet hashed = new MyIntHashSet();
+            for (int k : keys) {
+                hashed.add(k);
+            }
+            hashed.add(key);
+            return hashed;
+        }
+        ((MyIntHashSet) set).add(key);
+        return set;
+    }
+
+    // Removes a key, returns the set to store (null once it is empty)
+    public static Object remove(Object set, int key) {
+        if (set == null) {
+            return null;
+        }
+        if (set instanceof int[]) {
+            int[] keys = (int[]) set;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    if (keys.length == 1) {
+                        return null;
+                    }
+                    int[] shrunk = new int[keys.length - 1];
+                    System.arraycopy(keys, 0, shrunk, 0, i);
+                    System.arraycopy(keys, i + 1, shrunk, i, keys.length - i - 1);
+                    return shrunk;
+                }
+            }
+            return keys;
+        }
+
+        // Demotes back to an array once half of the inline room is used
+        MyIntHashSet hashed = (MyIntHashSet) set;
+        hashed.remove(key);
+        if (hashed.size() > INLINE_MAX / 2) {
+            return hashed;
+        }
+        return hashed.size() == 0 ? null : hashed.toArray();
+    }
+
+    // Size of the set
+    public static int size(Object set) {
+        if (set == null) {
+            return 0;
+        }
+        if (set instanceof int[]) {
+            return ((int[]) set).length;
+        }
+        return ((MyIntHashSet) set).size();
+    }
+
+    // Copies the keys into a new array (unordered)
+    public static int[] toArray(Object set) {
+        if (set == null) {
+            return NONE;
+        }
+        if (set instanceof int[]) {
+            return ((int[]) set).clone();
+        }
+        return ((MyIntHashSet) set).toArray();
+    }
+
+}
@@ -0,0 +1,190 @@
+package gigmatch;
+
+/**
+ * Service catalog and the composite score kernel.
+ *
+ * Everything that depends only on the service (skill profile, its denominator and the
+ * order of skill gains) is computed once per service, and freelancers carry their service
+ * index, so scoring allocates nothing and does no String comparisons. The arithmetic is the
+ * same as computing each term from the profile, so scores match bit for bit.
+ */
+public final class CompositeScorer {
+
+    // DATA FIELDS
+    // Service type constants
+    static final String[] SERVICE_TYPES = {
+            "paint", "web_dev", "graphic_design", "data_entry", "tutoring",
+            "cleaning", "writing", "photography", "plumbing", "electrical"
+    };
+
+    // Skill profiles [T, C, R, E, A]
+    private static final int[][] SKILL_PROFILES = {
+            {70, 60, 50, 85, 90},   // paint
+            {95, 75, 85, 80, 90},   // web_dev
+            {75, 85, 95, 70, 85},   // graphic_design
+            {50, 50, 30, 95, 95},   // data_entry
+            {80, 95, 70, 90, 75},   // tutoring
+            {40, 60, 40, 90, 85},   // cleaning
+            {70, 85, 90, 80, 95},   // writing
+            {85, 80, 90, 75, 90},   // photography
+            {85, 65, 60, 90, 85},   // plumbing
+            {90, 65, 70, 95, 95}    // electrical
+    };
+
+    // Weights (package-private, shared with the batch kernels)
+    static final double WS = 0.55;
+    static final double WR = 0.25;
+    static final double WL = 0.20;
+    static final double BURNOUT_PENALTY = 0.45;
+
+    // Per-service tables, indexed by service index
+    static final int[] PROFILE_T = new int[SERVICE_TYPES.length];
+    static final int[] PROFILE_C = new int[SERVICE_TYPES.length];
+    static final int[] PROFILE_R = new int[SERVICE_TYPES.length];
+    static final int[] PROFILE_E = new int[SERVICE_TYPES.length];
+    static final int[] PROFILE_A = new int[SERVICE_TYPES.length];
+    static final double[] SKILL_DENOMINATOR = new double[SERVICE_TYPES.length]; // 100 * sum of the profile
+    private static final int[][] GAIN_ORDER = new int[SERVICE_TYPES.length][]; // Top 3 skill indexes of the profile
+
+    static {
+        for (int s = 0; s < SERVICE_TYPES.length; s++) {
+            int[] profile = SKILL_PROFILES[s];
+            PROFILE_T[s] = profile[0];
+            PROFILE_C[s] = profile[1];
+            PROFILE_R[s] = profile[2];
+            PROFILE_E[s] = profile[3];
+            PROFILE_A[s] = profile[4];
+
+            int sum = 0;
+            for (int v : profile) {
+                sum += v;
+            }
+            SKILL_DENOMINATOR[s] = 100.0 * sum;
+
+            GAIN_ORDER[s] = topThree(profile);
+        }
+    }
+
+    // SIMD kernel from src-vector, null when the Vector API module or the class is missing
+    private static final BatchKernel VECTOR_KERNEL = loadVectorKernel();
+
+    private CompositeScorer() {
+    }
+
+    // ---METHODS---
+    // Number of service types
+    public static int serviceCount() {
+        return SERVICE_TYPES.length;
+    }
+
+    // Gets the index of service type, -1 if unknown
+    public static int serviceIndex(String serviceType) {
+        if (serviceType == null) return -1;
+
+        switch (serviceType) {
+            case "paint": return 0;
+            case "web_dev": return 1;
+            case "graphic_design": return 2;
+            case "data_entry": return 3;
+            case "tutoring": return 4;
+            case "cleaning": return 5;
+            case "writing": return 6;
+            case "photography": return 7;
+            case "plumbing": return 8;
+            case "electrical": return 9;
+            default: return -1;
+        }
+    }
+
+    // Name of a service index
+    public static String serviceName(int serviceIndex) {
+        return SERVICE_TYPES[serviceIndex];
+    }
+
+    // Skill indexes gaining +2, +1, +1 after a good rating (shared, must not be modified)
+    public static int[] gainOrder(int serviceIndex) {
+        return GAIN_ORDER[serviceIndex];
+    }
+
+    // Calculates composite score of a freelancer for its own service
+    public static int score(Freelancer f) {
+        return score(f.getServiceIndex(), f.getT(), f.getC(), f.getR(), f.getE(), f.getA(),
+                f.getAverageRating(), f.getCompletedJobs(), f.getCancelledJobs(), f.isBurnout());
+    }
+
+    // Calculates composite score from the scoring inputs
+    public static int score(int s, int T, int C, int R, int E, int A,
+                            double averageRating, int completedJobs, int cancelledJobs, boolean isBurnout) {
+        // Skill score: (F·S) / (100 * sum)
+        int dotProduct = T * PROFILE_T[s] + C * PROFILE_C[s] + R * PROFILE_R[s] + E * PROFILE_E[s] + A * PROFILE_A[s];
+        double skillScore = dotProduct / SKILL_DENOMINATOR[s];
+
+        // Rating score
+        double ratingScore = averageRating / 5.0;
+
+        // Reliability score
+        int total = completedJobs + cancelledJobs;
+        double reliabilityScore = (total == 0) ? 1.0 : 1.0 - ((double) cancelledJobs / total);
+
+        // Burnout penalty
+        double burnoutPenalty = isBurnout ? BURNOUT_PENALTY : 0.0;
+
+        // Composite score
+        double composite = WS * skillScore + WR * ratingScore + WL * reliabilityScore - burnoutPenalty;
+
+        return (int) Math.floor(10000 * composite);
+    }
+
+    // Scores rows [from, to) of a batch, with SIMD when the Vector API is available
+    public static void scoreBatch(ScoreBatch batch, int from, int to) {
+        if (VECTOR_KERNEL != null) {
+            VECTOR_KERNEL.score(batch, from, to);
+        } else {
+            scoreBatchScalar(batch, from, to);
+        }
+    }
+
+    // Scores rows [from, to) of a batch one by one
+    public static void scoreBatchScalar(ScoreBatch b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            b.score[i] = score(b.service[i], b.t[i], b.c[i], b.r[i], b.e[i], b.a[i],
+                    b.rating[i], b.completed[i], b.cancelled[i], b.burnout[i]);
+        }
+    }
+
+    // Checks if scoreBatch uses the SIMD kernel (needs --add-modules jdk.incubator.vector)
+    public static boolean isVectorized() {
+        return VECTOR_KERNEL != null;
+    }
+
+    // ---HELPER METHODS---
+    // Loads the SIMD kernel if the incubator module is in the boot layer
+    private static BatchKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (BatchKernel) Class.forName("gigmatch.VectorBatchScorer").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null; // Built without src-vector
+        }
+    }
+
+    // Indexes of the three highest values, ties go to the lower index
+    private static int[] topThree(int[] profile) {
+        int[] order = new int[3];
+        boolean[] taken = new boolean[profile.length];
+        for (int n = 0; n < order.length; n++) {
+            int best = -1;
+            for (int i = 0; i < profile.length; i++) {
+                if (!taken[i] && (best == -1 || profile[i] > profile[best])) {
+                    best = i;
+                }
+            }
+            taken[best] = true;
+            order[n] = best;
+        }
+        return order;
+    }
+
+}
@@ -0,0 +1,418 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe front of a PlatformManager that runs command lines from many threads at once.
+ *
+ * Commands that add users or touch every record (register_customer, register_freelancer,
+ * simulate_month, checkpoint) hold the platform lock exclusively. The others share it and
+ * lock only what they change: the stripe of their customer, then the heap of their service.
+ * A freelancer record is guarded by the lock of its service heap rather than a stripe of its
+ * own, because request_job finds the freelancer it employs inside the heap, and a freelancer
+ * only moves to another heap in simulate_month. Every command takes its locks in this one
+ * order (platform, customer, service), so there is no deadlock, and commands for different
+ * customers and services run in parallel.
+ *
+ * cancel_by_freelancer and complete_and_rate learn their customer from the freelancer's
+ * employment, so they read it, lock, and read it again, retrying if it changed meanwhile.
+ *
+ * query_freelancer and query_customer take no lock at all. Every user has a view holding the
+ * text of its query result, an immutable String behind a volatile field. Commands render it
+ * again while they still hold the locks of the records they changed, and readers find it
+ * through a SnapshotTable. A reader never waits for a writer and never sees a record halfway
+ * through a change (such as the skills of an update_skill), only the state before or after.
+ *
+ * Results and error messages are the same as Main.processCommand. A platform with a
+ * write-ahead log is refused, since the log replays commands in one order.
+ */
+public final class ConcurrentPlatform {
+
+    // DATA FIELDS
+    private static final int CUSTOMER_STRIPES = 64; // Must be a power of two
+
+    private final PlatformManager platform;
+    private final ReentrantReadWriteLock platformLock; // Exclusive for commands that touch every record
+    private final ReentrantLock[] customerLocks; // Customer handle & (CUSTOMER_STRIPES - 1)
+    private final ReentrantLock[] serviceLocks; // One per service heap, also guards its freelancers
+
+    private final SnapshotTable<QueryView> views; // ID -> query view, read without locks
+    private QueryView[] viewByHandle; // Replaced under the exclusive platform lock only
+
+    // Query result of one user after its ID, rendered again whenever the user changes
+    private static final class QueryView {
+        final boolean freelancer;
+        volatile String info;
+
+        QueryView(boolean freelancer, String info) {
+            this.freelancer = freelancer;
+            this.info = info;
+        }
+    }
+
+    // CONSTRUCTORS
+    public ConcurrentPlatform(PlatformManager platform) {
+        if (platform.getWriteAheadLog() != null) {
+            throw new IllegalArgumentException("A platform with a write-ahead log needs one command order");
+        }
+        this.platform = platform;
+        this.platformLock = new ReentrantReadWriteLock();
+        this.customerLocks = new ReentrantLock[CUSTOMER_STRIPES];
+        for (int i = 0; i < CUSTOMER_STRIPES; i++) {
+            customerLocks[i] = new ReentrantLock();
+        }
+        this.serviceLocks = new ReentrantLock[CompositeScorer.serviceCount()];
+        for (int i = 0; i < serviceLocks.length; i++) {
+            serviceLocks[i] = new ReentrantLock();
+        }
+
+        // Views of the users already on the platform
+        IdDictionary ids = platform.getIds();
+        this.views = new SnapshotTable<>(ids.size() * 2);
+        this.viewByHandle = new QueryView[Math.max(16, ids.size())];
+        for (int h = 0; h < ids.size(); h++) {
+            addView(ids.name(h));
+        }
+    }
+
+    // GETTERS
+    // The wrapped platform, only safe to use directly while no command runs
+    public PlatformManager getPlatform() {
+        return platform;
+    }
+
+    // ---METHODS---
+    // Runs one trimmed, non-empty line and appends its result line to out (one sink per thread)
+    public void execute(String command, OutputSink out) throws IOException {
+        String[] parts = command.split("\\s+");
+
+        int mark = out.mark();
+        try {
+            switch (parts[0]) {
+                case "register_customer":
+                case "register_freelancer":
+                case "simulate_month":
+                case "checkpoint":
+                    platformLock.writeLock().lock();
+                    try {
+                        executeExclusive(parts, out);
+                    } finally {
+                        platformLock.writeLock().unlock();
+                    }
+                    break;
+
+                case "query_freelancer":
+                case "query_customer":
+                    query(parts, out); // No locks
+                    break;
+
+                default:
+                    platformLock.readLock().lock();
+                    try {
+                        executeShared(parts, out);
+                    } finally {
+                        platformLock.readLock().unlock();
+                    }
+            }
+        } catch (Exception e) {
+            out.rollback(mark); // Drops a partial result
+            out.append("Error processing command: ").append(command);
+        }
+        out.endLine();
+    }
+
+    // Checks the platform invariants between commands (see PlatformManager.verifyInvariants) and
+    // that every query view matches its record. Returns the number of active employments.
+    public int verify() {
+        platformLock.writeLock().lock();
+        try {
+            int active = platform.verifyInvariants();
+            IdDictionary ids = platform.getIds();
+            for (int h = 0; h < ids.size(); h++) {
+                QueryView view = viewByHandle[h];
+                if (view == null || views.get(ids.name(h)) != view
+                        || !view.info.equals(render(h, view.freelancer))) {
+                    throw new IllegalStateException("Stale query view of " + ids.name(h));
+                }
+            }
+            return active;
+        } finally {
+            platformLock.writeLock().unlock();
+        }
+    }
+
+    // ---HELPER METHODS---
+    // Commands run under the exclusive platform lock, formats follow Main.processCommand
+    private void executeExclusive(String[] parts, OutputSink out) {
+        switch (parts[0]) {
+            case "register_customer":
+                if (parts.length == 2) {
+                    platform.registerCustomer(parts[1], out);
+                    addView(parts[1]);
+                } else {
+                    out.append("Some error occurred in register_customer.");
+                }
+                return;
+
+            case "register_freelancer":
+                if (parts.length == 9) {
+                    platform.registerFreelancer(parts[1], parts[2], Integer.parseInt(parts[3]),
+                            Integer.parseInt(parts[4]), Integer.parseInt(parts[5]), Integer.parseInt(parts[6]),
+                            Integer.parseInt(parts[7]), Integer.parseInt(parts[8]), out);
+                    addView(parts[1]);
+                } else {
+                    out.append("Some error occurred in register_freelancer.");
+                }
+                return;
+
+            case "simulate_month":
+                int[] changed = platform.monthlyChanges();
+                platform.simulateMonth(out);
+                for (int handle : changed) {
+                    publishFreelancer(handle);
+                    publishCustomer(handle);
+                }
+                return;
+
+            default: // checkpoint
+                if (parts.length == 2) {
+                    platform.checkpoint(parts[1], out);
+                } else {
+                    out.append("Some error occurred in checkpoint.");
+                }
+        }
+    }
+
+    // Commands run under the shared platform lock plus their customer and service locks
+    private void executeShared(String[] parts, OutputSink out) {
+        ReentrantLock customer = null;
+        ReentrantLock service = null;
+        try {
+            switch (parts[0]) {
+                case "request_job":
+                    if (parts.length == 4) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int topK = Integer.parseInt(parts[3]);
+                        customer = lock(customerLock(customerHandle));
+                        service = lock(serviceLock(CompositeScorer.serviceIndex(parts[2])));
+                        int employed = platform.requestAndEmploy(customerHandle, parts[2], topK, out);
+                        if (employed >= 0) {
+                            publishCustomer(customerHandle);
+                            publishFreelancer(employed);
+                        }
+                    } else {
+                        out.append("Some error occurred in request_job.");
+                    }
+                    return;
+
+                case "employ_freelancer":
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        customer = lock(customerLock(customerHandle));
+                        service = lock(serviceLock(platform.serviceOf(freelancerHandle)));
+                        platform.employ(customerHandle, freelancerHandle, out);
+                        publishCustomer(customerHandle);
+                        publishFreelancer(freelancerHandle);
+                    } else {
+                        out.append("Some error occurred in employ.");
+                    }
+                    return;
+
+                case "complete_and_rate":
+                    if (parts.length == 3) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        int rating = Integer.parseInt(parts[2]);
+                        service = serviceLock(platform.serviceOf(freelancerHandle));
+                        int employer = lockEmployer(freelancerHandle, service);
+                        customer = customerLock(employer);
+                        platform.completeAndRate(freelancerHandle, rating, out);
+                        publishCustomer(employer);
+                        publishFreelancer(freelancerHandle);
+                    } else {
+                        out.append("Some error occurred in complete_and_rate.");
+                    }
+                    return;
+
+                case "cancel_by_freelancer":
+                    if (parts.length == 2) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        service = serviceLock(platform.serviceOf(freelancerHandle));
+                        int employer = lockEmployer(freelancerHandle, service);
+                        customer = customerLock(employer);
+                        platform.cancelByFreelancer(freelancerHandle, out);
+                        publishCustomer(employer);
+                        publishFreelancer(freelancerHandle);
+                    } else {
+                        out.append("Some error occurred in cancel_by_freelancer.");
+                    }
+                    return;
+
+                case "cancel_by_customer":
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        customer = lock(customerLock(customerHandle));
+                        service = lock(serviceLock(platform.serviceOf(freelancerHandle)));
+                        platform.cancelByCustomer(customerHandle, freelancerHandle, out);
+                        publishCustomer(customerHandle);
+                        publishFreelancer(freelancerHandle);
+                    } else {
+                        out.append("Some error occurred in cancel_by_customer.");
+                    }
+                    return;
+
+                case "blacklist":
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        customer = lock(customerLock(customerHandle));
+                        platform.blacklist(customerHandle, freelancerHandle, out);
+                        publishCustomer(customerHandle);
+                    } else {
+                        out.append("Some error occurred in blacklist.");
+                    }
+                    return;
+
+                case "unblacklist":
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        customer = lock(customerLock(customerHandle));
+                        platform.unblacklist(customerHandle, freelancerHandle, out);
+                        publishCustomer(customerHandle);
+                    } else {
+                        out.append("Some error occurred in unblacklist.");
+                    }
+                    return;
+
+                case "change_service":
+                    if (parts.length == 4) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        int newPrice = Integer.parseInt(parts[3]);
+                        service = lock(serviceLock(platform.serviceOf(freelancerHandle)));
+                        platform.changeService(freelancerHandle, parts[2], newPrice, out); // Shows next month
+                    } else {
+                        out.append("Some error occurred in change_service.");
+                    }
+                    return;
+
+                case "update_skill":
+                    if (parts.length == 7) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        int T = Integer.parseInt(parts[2]);
+                        int C = Integer.parseInt(parts[3]);
+                        int R = Integer.parseInt(parts[4]);
+                        int E = Integer.parseInt(parts[5]);
+                        int A = Integer.parseInt(parts[6]);
+                        service = lock(serviceLock(platform.serviceOf(freelancerHandle)));
+                        platform.updateSkill(freelancerHandle, T, C, R, E, A, out);
+                        publishFreelancer(freelancerHandle);
+                    } else {
+                        out.append("Some error occurred in update_skill.");
+                    }
+                    return;
+
+                default:
+                    out.append("Unknown command: ").append(parts[0]);
+            }
+        } finally {
+            // Reverse order of locking
+            if (service != null) service.unlock();
+            if (customer != null) customer.unlock();
+        }
+    }
+
+    // Answers a query from the published views
+    private void query(String[] parts, OutputSink out) {
+        boolean freelancer = parts[0].equals("query_freelancer");
+        QueryView view = (parts.length == 2) ? views.get(parts[1]) : null;
+        if (view == null || view.freelancer != freelancer) {
+            out.append(freelancer ? "Some error occurred in query_freelancer."
+                                  : "Some error occurred in query_customer.");
+            return;
+        }
+        out.append(parts[1]).append(view.info);
+    }
+
+    // Creates the view of a newly registered user, under the exclusive platform lock
+    private void addView(String id) {
+        int handle = platform.lookupId(id);
+        if (handle < 0 || (handle < viewByHandle.length && viewByHandle[handle] != null)) {
+            return; // Registration failed
+        }
+        if (handle >= viewByHandle.length) {
+            viewByHandle = Arrays.copyOf(viewByHandle, Math.max(viewByHandle.length * 2, handle + 1));
+        }
+        boolean freelancer = platform.freelancer(handle) != null;
+        QueryView view = new QueryView(freelancer, render(handle, freelancer));
+        viewByHandle[handle] = view;
+        views.put(id, view);
+    }
+
+    // Renders a user's view again. Callers hold the lock of the record (its customer stripe or
+    // its service), so other handles (-1, or the other user type) are skipped.
+    private void publishCustomer(int handle) {
+        QueryView view = viewAt(handle);
+        if (view != null && !view.freelancer) {
+            view.info = render(handle, false);
+        }
+    }
+    private void publishFreelancer(int handle) {
+        QueryView view = viewAt(handle);
+        if (view != null && view.freelancer) {
+            view.info = render(handle, true);
+        }
+    }
+
+    private QueryView viewAt(int handle) {
+        return (handle >= 0 && handle < viewByHandle.length) ? viewByHandle[handle] : null;
+    }
+
+    // Query result text that follows the ID
+    private String render(int handle, boolean freelancer) {
+        OutputSink text = new OutputSink();
+        if (freelancer) {
+            platform.freelancer(handle).appendInfo(text);
+        } else {
+            platform.customer(handle).appendInfo(text);
+        }
+        return text.drain();
+    }
+
+    // Locks the stripe of the freelancer's employer, then the service heap. The employer is read
+    // before its lock is held, so it is read again under the locks and they are taken again if
+    // another command changed it. Returns the employer, -1 when there is none.
+    private int lockEmployer(int freelancerHandle, ReentrantLock service) {
+        while (true) {
+            int employer = platform.employerOf(freelancerHandle);
+            ReentrantLock customer = lock(customerLock(employer));
+            lock(service);
+            if (platform.employerOf(freelancerHandle) == employer) {
+                return employer;
+            }
+            if (service != null) service.unlock();
+            if (customer != null) customer.unlock();
+        }
+    }
+
+    // Locks and returns the lock, null is skipped
+    private static ReentrantLock lock(ReentrantLock lock) {
+        if (lock != null) {
+            lock.lock();
+        }
+        return lock;
+    }
+
+    // Stripe of a handle, null for -1 (unknown IDs fail validation without touching a record)
+    private ReentrantLock customerLock(int handle) {
+        return handle < 0 ? null : customerLocks[handle & (CUSTOMER_STRIPES - 1)];
+    }
+
+    private ReentrantLock serviceLock(int serviceIndex) {
+        return serviceIndex < 0 ? null : serviceLocks[serviceIndex];
+    }
+}
@@ -0,0 +1,139 @@
+package gigmatch;
+
+public class Customer {
+
+    // DATA FIELDS
+    private int handle; // Interned ID of the customer (see IdDictionary)
+
+    private int totalSpent; // Total money paid by the customer
+    private String loyaltyTier; // Customer's loyalty tier
+    private int totalEmploymentCount; // Total number of employments
+    private int customerCancellationCount; // Number of customer-initiated cancellations
+
+    // Compact sets of freelancer handles, null while empty (see CompactIntSet)
+    private Object blacklist; // Blacklisted freelancer handles
+    private Object activeFreelancers; // Handles of active employed freelancers
+    private long blacklistFilter; // One-word Bloom filter over the blacklist, 0 when it is empty
+
+    // CONSTRUCTORS
+    // Default Constructor
+    public Customer() {
+        this.handle = -1;
+        this.totalSpent = 0;
+        this.loyaltyTier = "BRONZE"; // Starts from BRONZE
+        this.totalEmploymentCount = 0;
+        this.customerCancellationCount = 0;
+    }
+
+    public Customer(int handle) {
+        this.handle = handle;
+        this.totalSpent = 0;
+        this.loyaltyTier = "BRONZE"; // Starts from BRONZE
+        this.totalEmploymentCount = 0;
+        this.customerCancellationCount = 0;
+    }
+
+    // GETTERS
+    public int getHandle() {return handle;}
+    public int getTotalSpent() {return totalSpent;}
+    public String getLoyaltyTier() {return loyaltyTier;}
+    public int getTotalEmploymentCount() {return totalEmploymentCount;}
+    public int getCustomerCancellationCount() {return customerCancellationCount;}
+    public int getBlacklistSize() {return CompactIntSet.size(blacklist);}
+    public int getActiveFreelancerCount() {return CompactIntSet.size(activeFreelancers);}
+    public int[] getBlacklist() {return CompactIntSet.toArray(blacklist);}
+    public int[] getActiveFreelancers() {return CompactIntSet.toArray(activeFreelancers);}
+
+    // SETTERS
+    public void setLoyaltyTier(String tier) {this.loyaltyTier = tier;}
+    public void setCustomerCancellationCount(int count) {this.customerCancellationCount = count;}
+
+    // ---HELPER METHODS---
+    // Two bits of the Bloom word for a handle (long shifts use the low 6 bits of the count)
+    private static long filterBits(int freelancerHandle) {
+        int h = freelancerHandle * 0x9E3779B9;
+        return (1L << (h >>> 26)) | (1L << (h >>> 20));
+    }
+
+    // ---METHODS---
+    // BLACKLIST management
+    // Most candidates miss the filter and never reach the set
+    public boolean isInBlacklist(int freelancerHandle) {
+        long bits = filterBits(freelancerHandle);
+        return (blacklistFilter & bits) == bits && CompactIntSet.contains(blacklist, freelancerHandle);
+    }
+    public void addToBlacklist(int freelancerHandle) {
+        blacklist = CompactIntSet.add(blacklist, freelancerHandle);
+        blacklistFilter |= filterBits(freelancerHandle);
+    }
+    // Bloom bits cannot be cleared one by one, so the word is rebuilt from the remaining handles
+    public void removeFromBlacklist(int freelancerHandle) {
+        blacklist = CompactIntSet.remove(blacklist, freelancerHandle);
+        long filter = 0;
+        for (int handle : CompactIntSet.toArray(blacklist)) {
+            filter |= filterBits(handle);
+        }
+        blacklistFilter = filter;
+    }
+
+    // EMPLOYMENT management
+    public void startEmployment(int freelancerHandle) {
+        activeFreelancers = CompactIntSet.add(activeFreelancers, freelancerHandle);
+        totalEmploymentCount++;
+    }
+    public void finishEmployment(int freelancerHandle) {
+        activeFreelancers = CompactIntSet.remove(activeFreelancers, freelancerHandle);
+    }
+
+    // Sets the whole record, used when a snapshot is read (see PlatformManager.readSnapshot)
+    void restore(int totalSpent, String loyaltyTier, int totalEmploymentCount, int customerCancellationCount,
+                 int[] blacklist, int[] activeFreelancers) {
+        this.totalSpent = totalSpent;
+        this.loyaltyTier = loyaltyTier;
+        this.totalEmploymentCount = totalEmploymentCount;
+        this.customerCancellationCount = customerCancellationCount;
+        this.blacklist = null;
+        this.blacklistFilter = 0;
+        for (int handle : blacklist) {
+            addToBlacklist(handle);
+        }
+        this.activeFreelancers = null;
+        for (int handle : activeFreelancers) {
+            this.activeFreelancers = CompactIntSet.add(this.activeFreelancers, handle);
+        }
+    }
+
+    // Appends the info text that follows the ID (query_customer)
+    public void appendInfo(OutputSink out) {
+        out.append(": total spent: $").append(totalSpent)
+                .append(", loyalty tier: ").append(loyaltyTier)
+                .append(", blacklisted freelancer count: ").append(getBlacklistSize())
+                .append(", total employment count: ").append(totalEmploymentCount);
+    }
+
+    // Updates total spent by discounted amount
+    public void pay(int discountedAmount) {
+        this.totalSpent += discountedAmount;
+    }
+
+    // Updates the customer's loyalty tier
+    public void updateLoyaltyTier() {
+        int effectiveSpent = getEffectiveTotalSpent();
+
+        if (effectiveSpent < 500) {
+            loyaltyTier = "BRONZE";
+        } else if (effectiveSpent < 2000){
+            loyaltyTier = "SILVER";
+        } else if (effectiveSpent < 5000){
+            loyaltyTier = "GOLD";
+        } else {
+            loyaltyTier = "PLATINUM";
+        }
+    }
+
+    // Excludes $250 from their total spent for each cancellation
+    public int getEffectiveTotalSpent() {
+        return Math.max(0, totalSpent - (customerCancellationCount * 250));
+    }
+
+}
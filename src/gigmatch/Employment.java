@@ -1,3 +1,5 @@
+package gigmatch;
+
 public class Employment {
 
     // DATA FIELDS
@@ -27,14 +29,14 @@ public class Employment {
 
     // ---METHODS---
     // Completion of the employment
-    public void complete(int rating, int[] serviceSkills) {
+    public void complete(int rating, int[] gainOrder) {
         if (!isActive) return;
         isActive = false;
 
         // Finishes employment on freelancer side
-        freelancer.completeJob(rating, serviceSkills);
+        freelancer.completeJob(rating, gainOrder);
         // Finishes employment on customer side
-        customer.finishEmployment(freelancer.getFreelancerID());
+        customer.finishEmployment(freelancer.getHandle());
     }
 
     // Customer cancellation
@@ -45,7 +47,7 @@ public class Employment {
         // Finishes employment on freelancer side
         freelancer.free();
         // Finish employment on customer side
-        customer.finishEmployment(freelancer.getFreelancerID());
+        customer.finishEmployment(freelancer.getHandle());
     }
 
     // Freelancer cancellation
@@ -56,7 +58,7 @@ public class Employment {
         // Finishes employment on freelancer side
         freelancer.cancelJob();
         // Finish employment on customer side
-        customer.finishEmployment(freelancer.getFreelancerID());
+        customer.finishEmployment(freelancer.getHandle());
     }
 
 }
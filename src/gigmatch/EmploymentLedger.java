@@ -0,0 +1,254 @@
+package gigmatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only history of finished employments, stored in memory-mapped segment files.
+ *
+ * Each record is RECORD_SIZE bytes (little endian): customer handle, freelancer handle,
+ * month, service price, outcome and rating. A segment file holds a 16 byte header (magic,
+ * version, records per segment, record count) followed by a fixed number of records, so a
+ * directory can be reopened and appended to. Only the segment being written stays mapped
+ * by the ledger; cursors map one segment at a time, so the heap does not grow with history.
+ */
+public final class EmploymentLedger implements Closeable {
+
+    // DATA FIELDS
+    // Outcomes
+    public static final byte COMPLETED = 0;
+    public static final byte CANCELLED_BY_CUSTOMER = 1;
+    public static final byte CANCELLED_BY_FREELANCER = 2;
+    public static final int NO_RATING = -1; // Rating of customer cancellations
+
+    static final int RECORD_SIZE = 20;
+    private static final int HEADER_SIZE = 16;
+    private static final int MAGIC = 0x474D4C47; // "GMLG"
+    private static final int VERSION = 1;
+    private static final int SEGMENT_RECORDS_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int DEFAULT_SEGMENT_RECORDS = 1 << 20; // 20 MB segments
+
+    private final Path dir;
+    private final int segmentRecords; // Records per segment file
+    private int segmentCount; // Segments on disk, the last one is being written
+    private MappedByteBuffer current; // Mapping of the last segment, null once closed
+    private int currentCount; // Records in the last segment
+    private long size; // Records in all segments
+
+    // CONSTRUCTORS
+    // Opens the ledger in dir, creating it or appending to the segments already there
+    public EmploymentLedger(Path dir) throws IOException {
+        this(dir, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    // segmentRecords only applies to a new ledger, existing ones keep their own
+    public EmploymentLedger(Path dir, int segmentRecords) throws IOException {
+        if (segmentRecords <= 0) {
+            throw new IllegalArgumentException("segmentRecords must be positive");
+        }
+        this.dir = dir;
+        Files.createDirectories(dir);
+
+        int segments = 0;
+        while (Files.exists(segmentPath(segments))) {
+            segments++;
+        }
+
+        if (segments == 0) {
+            this.segmentRecords = segmentRecords;
+            this.segmentCount = 1;
+            this.current = createSegment(0);
+            this.currentCount = 0;
+            this.size = 0;
+        } else {
+            MappedByteBuffer last = mapSegment(segments - 1, FileChannel.MapMode.READ_WRITE, -1);
+            this.segmentRecords = last.getInt(SEGMENT_RECORDS_OFFSET);
+            this.segmentCount = segments;
+            this.current = last;
+            this.currentCount = last.getInt(COUNT_OFFSET);
+            this.size = (long) (segments - 1) * this.segmentRecords + currentCount;
+        }
+    }
+
+    // GETTERS
+    public Path getDirectory() {return dir;}
+    public int getSegmentRecords() {return segmentRecords;}
+    public int getSegmentCount() {return segmentCount;}
+
+    // ---METHODS---
+    // Number of records
+    public long size() {
+        return size;
+    }
+
+    // Appends one finished employment
+    public void append(int customerHandle, int freelancerHandle, int month, int price, byte outcome, int rating) {
+        if (current == null) {
+            throw new IllegalStateException("ledger is closed");
+        }
+        if (currentCount == segmentRecords) {
+            roll();
+        }
+
+        int at = HEADER_SIZE + currentCount * RECORD_SIZE;
+        current.putInt(at, customerHandle);
+        current.putInt(at + 4, freelancerHandle);
+        current.putInt(at + 8, month);
+        current.putInt(at + 12, price);
+        current.put(at + 16, outcome);
+        current.put(at + 17, (byte) rating);
+
+        currentCount++;
+        current.putInt(COUNT_OFFSET, currentCount); // Publishes the record
+        size++;
+    }
+
+    // Writes the mapped pages of the current segment to disk
+    public void flush() {
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    // Flushes and stops appending; the last mapping is released by the GC
+    @Override
+    public void close() {
+        flush();
+        current = null;
+    }
+
+    // Cursor over every record written so far, oldest first
+    public Cursor cursor() {
+        return new Cursor(-1, -1);
+    }
+
+    // Cursor over the jobs of one freelancer
+    public Cursor jobsOfFreelancer(int freelancerHandle) {
+        return new Cursor(-1, freelancerHandle);
+    }
+
+    // Cursor over the jobs of one customer
+    public Cursor jobsOfCustomer(int customerHandle) {
+        return new Cursor(customerHandle, -1);
+    }
+
+    // ---HELPER METHODS---
+    private Path segmentPath(int index) {
+        return dir.resolve(String.format("ledger-%05d.bin", index));
+    }
+
+    // Starts the next segment once the current one is full
+    private void roll() {
+        current.force();
+        try {
+            current = createSegment(segmentCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segmentCount++;
+        currentCount = 0;
+    }
+
+    // Creates a segment file of full size and writes its header
+    private MappedByteBuffer createSegment(int index) throws IOException {
+        MappedByteBuffer buffer = mapSegment(index, FileChannel.MapMode.READ_WRITE,
+                HEADER_SIZE + (long) segmentRecords * RECORD_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(SEGMENT_RECORDS_OFFSET, segmentRecords);
+        buffer.putInt(COUNT_OFFSET, 0);
+        return buffer;
+    }
+
+    // Maps a segment, length -1 maps the existing file (and checks its header)
+    private MappedByteBuffer mapSegment(int index, FileChannel.MapMode mode, long length) throws IOException {
+        Path path = segmentPath(index);
+        boolean write = mode == FileChannel.MapMode.READ_WRITE;
+        try (FileChannel channel = write
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            long mapped = length < 0 ? channel.size() : length;
+            MappedByteBuffer buffer = channel.map(mode, 0, mapped);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (length < 0 && (mapped < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)) {
+                throw new IOException("not a ledger segment: " + path);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Streams records written before the cursor was created, optionally only those of one
+     * customer or freelancer. Fields of the current record are read with the getters after
+     * next() returned true. Nothing is allocated per record.
+     */
+    public final class Cursor {
+
+        // DATA FIELDS
+        private final int customerFilter; // -1 accepts every customer
+        private final int freelancerFilter; // -1 accepts every freelancer
+        private final long limit; // Records visible to this cursor
+
+        private long position; // Records passed so far
+        private int segment = -1;
+        private MappedByteBuffer buffer; // Mapping of the segment being read
+        private int at; // Offset of the current record
+
+        // CONSTRUCTORS
+        private Cursor(int customerFilter, int freelancerFilter) {
+            this.customerFilter = customerFilter;
+            this.freelancerFilter = freelancerFilter;
+            this.limit = size;
+            this.position = 0;
+        }
+
+        // GETTERS (current record)
+        public int getCustomerHandle() {return buffer.getInt(at);}
+        public int getFreelancerHandle() {return buffer.getInt(at + 4);}
+        public int getMonth() {return buffer.getInt(at + 8);}
+        public int getPrice() {return buffer.getInt(at + 12);}
+        public byte getOutcome() {return buffer.get(at + 16);}
+        public int getRating() {return buffer.get(at + 17);}
+
+        // ---METHODS---
+        // Moves to the next matching record, false at the end
+        public boolean next() {
+            while (position < limit) {
+                int index = (int) (position % segmentRecords);
+                if (index == 0 || buffer == null) {
+                    openSegment((int) (position / segmentRecords));
+                }
+                at = HEADER_SIZE + index * RECORD_SIZE;
+                position++;
+
+                if ((customerFilter < 0 || buffer.getInt(at) == customerFilter)
+                        && (freelancerFilter < 0 || buffer.getInt(at + 4) == freelancerFilter)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // ---HELPER METHODS---
+        private void openSegment(int index) {
+            if (index == segment) {
+                return;
+            }
+            try {
+                buffer = mapSegment(index, FileChannel.MapMode.READ_ONLY, -1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segment = index;
+        }
+    }
+
+}
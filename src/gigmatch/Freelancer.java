@@ -0,0 +1,282 @@
+package gigmatch;
+
+/**
+ * View of one freelancer record in a FreelancerStore.
+ *
+ * The record itself lives in the store's columns. The view keeps the fields the service
+ * heaps read on every comparison (handle, composite score, heap slot) so that heap
+ * operations stay on one small object.
+ */
+public class Freelancer implements HeapIndexed {
+
+    // DATA FIELDS
+    private final FreelancerStore store; // Columns holding the record
+    private final int row; // Row of the record in the store
+
+    private int handle; // Interned ID of the freelancer (see IdDictionary)
+    private int compositeScore; // For priority queue ordering
+    private int heapIndex; // Position in the service's priority queue, -1 if not in one
+
+    // CONSTRUCTORS
+    // Default Constructor
+    public Freelancer() {
+        this(-1, null, 0, 0, 0, 0, 0, 0);
+    }
+
+    // Standalone freelancer, backed by a store of its own
+    public Freelancer(int handle, String serviceType, int servicePrice, int T, int C, int R, int E, int A) {
+        this.store = new FreelancerStore(1);
+        this.row = store.addRow(serviceType, servicePrice, T, C, R, E, A);
+        this.handle = handle;
+        this.compositeScore = 0;
+        this.heapIndex = -1;
+    }
+
+    // View of an existing row (see FreelancerStore.add)
+    Freelancer(FreelancerStore store, int row, int handle) {
+        this.store = store;
+        this.row = row;
+        this.handle = handle;
+        this.compositeScore = 0;
+        this.heapIndex = -1;
+    }
+
+    // GETTERS
+    public int getHandle() {return handle;}
+    int getRow() {return row;}
+    public String getServiceType() {return serviceName(store.service[page()][slot()]);}
+    public int getServiceIndex() {return store.service[page()][slot()];}
+    public int getServicePrice() {return store.price[page()][slot()];}
+
+    public boolean isAvailable() {return hasFlag(FreelancerStore.AVAILABLE);}
+    public boolean isBurnout() {return hasFlag(FreelancerStore.BURNOUT);}
+    public boolean isPlatformBanned() {return hasFlag(FreelancerStore.BANNED);}
+
+    public int getT() {return store.t[page()][slot()];}
+    public int getC() {return store.c[page()][slot()];}
+    public int getR() {return store.r[page()][slot()];}
+    public int getE() {return store.e[page()][slot()];}
+    public int getA() {return store.a[page()][slot()];}
+
+    public double getAverageRating() {return store.averageRating[page()][slot()];}
+    public int getRatingCount() {return store.ratingCount[page()][slot()];}
+
+    public int getCompositeScore() {return compositeScore;}
+    public int getHeapIndex() {return heapIndex;}
+
+    public int getCompletedJobs() {return store.completed[page()][slot()];}
+    public int getCancelledJobs() {return store.cancelled[page()][slot()];}
+    public int getMonthlyCompletedJobs() {return store.monthlyCompleted[page()][slot()];}
+    public int getMonthlyCancelledJobs() {return store.monthlyCancelled[page()][slot()];}
+
+    public String getQueuedService() {return serviceName(store.queuedService[page()][slot()]);}
+    public int getQueuedPrice() {return store.queuedPrice[page()][slot()];}
+    public boolean getHasQueuedChange() {return hasFlag(FreelancerStore.QUEUED_CHANGE);}
+    public boolean getHasMonthlyWork() {return hasFlag(FreelancerStore.MONTHLY_WORK);}
+
+    public int getEmployerHandle() {return store.employer[page()][slot()];}
+    public Employment getActiveEmployment() {return store.employment[page()][slot()];}
+
+    // SETTERS (skills must be 0-100, services unknown to CompositeScorer read back as null)
+    public void setHandle(int handle) {this.handle = handle;}
+    public void setServiceType(String serviceType) {store.service[page()][slot()] = (byte) CompositeScorer.serviceIndex(serviceType);}
+    public void setServicePrice(int servicePrice) {store.price[page()][slot()] = servicePrice;}
+
+    public void setT(int T) {store.t[page()][slot()] = (byte) T;}
+    public void setC(int C) {store.c[page()][slot()] = (byte) C;}
+    public void setR(int R) {store.r[page()][slot()] = (byte) R;}
+    public void setE(int E) {store.e[page()][slot()] = (byte) E;}
+    public void setA(int A) {store.a[page()][slot()] = (byte) A;}
+
+    public void setAvailable(boolean available) {setFlag(FreelancerStore.AVAILABLE, available);}
+    public void setBurnout(boolean burnout) {setFlag(FreelancerStore.BURNOUT, burnout);}
+    public void setPlatformBanned(boolean platformBanned) {setFlag(FreelancerStore.BANNED, platformBanned);}
+
+    public void setAverageRating(double averageRating) {store.averageRating[page()][slot()] = averageRating;}
+    public void setRatingCount(int ratingCount) {store.ratingCount[page()][slot()] = ratingCount;}
+
+    public void setCompositeScore(int compositeScore) {this.compositeScore = compositeScore;}
+    public void setHeapIndex(int heapIndex) {this.heapIndex = heapIndex;}
+
+    public void setCompletedJobs(int completedJobs) {store.completed[page()][slot()] = completedJobs;}
+    public void setCancelledJobs(int cancelledJobs) {store.cancelled[page()][slot()] = cancelledJobs;}
+    public void setMonthlyCompletedJobs(int monthlyCompletedJobs) {store.monthlyCompleted[page()][slot()] = monthlyCompletedJobs;}
+    public void setMonthlyCancelledJobs(int monthlyCancelledJobs) {store.monthlyCancelled[page()][slot()] = monthlyCancelledJobs;}
+    public void setHasMonthlyWork(boolean hasMonthlyWork) {setFlag(FreelancerStore.MONTHLY_WORK, hasMonthlyWork);}
+
+    public void setEmployerHandle(int employerHandle) {store.employer[page()][slot()] = employerHandle;}
+    public void setActiveEmployment(Employment employment) {store.employment[page()][slot()] = employment;}
+
+    // ---METHODS---
+    // Employment management
+    public boolean employ(int customerHandle) {
+        if (!isAvailable() || isPlatformBanned()) return false;
+        setAvailable(false);
+        setEmployerHandle(customerHandle);
+        return true;
+    }
+    public void free() {
+        setAvailable(true);
+        setEmployerHandle(-1);
+        setActiveEmployment(null);
+    }
+
+    // Completes job (rating and skills update)
+    public void completeJob(int rating, int[] gainOrder) {
+
+        addRating(rating); // Updates rating
+
+        store.completed[page()][slot()]++;
+        store.monthlyCompleted[page()][slot()]++;
+
+        if (rating >= 4 && gainOrder != null && gainOrder.length == 3) {
+            applySkillGains(gainOrder); // Applies skill gains
+        }
+
+        free();
+    }
+
+    // Applies skill gains after completion, gainOrder holds the service's top 3 skill indexes
+    private void applySkillGains(int[] gainOrder) {
+        // Primary and secondaries
+        gainSkill(gainOrder[0], 2);
+        gainSkill(gainOrder[1], 1);
+        gainSkill(gainOrder[2], 1);
+    }
+
+    // Applies skill gains
+    private void gainSkill(int index, int amount) {
+        if (index == 0) {
+            setT(Math.min(100, getT() + amount));
+        } else if (index == 1) {
+            setC(Math.min(100, getC() + amount));
+        } else if (index == 2) {
+            setR(Math.min(100, getR() + amount));
+        } else if (index == 3) {
+            setE(Math.min(100, getE() + amount));
+        } else if (index == 4) {
+            setA(Math.min(100, getA() + amount));
+        }
+    }
+
+    // Cancels job (freelancer-initiated)
+    public void cancelJob() {
+
+        addRating(0); // Updates rating
+
+        store.cancelled[page()][slot()]++;
+        store.monthlyCancelled[page()][slot()]++;
+
+        // Applies -3 degradation
+        setT(Math.max(0, getT() - 3));
+        setC(Math.max(0, getC() - 3));
+        setR(Math.max(0, getR() - 3));
+        setE(Math.max(0, getE() - 3));
+        setA(Math.max(0, getA() - 3));
+
+        free();
+    }
+
+    // Checks if updateMonthlyStatus would change anything
+    // (burnout can flip back even with no jobs this month)
+    public boolean needsMonthlyUpdate() {
+        return getMonthlyCompletedJobs() != 0 || getMonthlyCancelledJobs() != 0 || getHasQueuedChange() || isBurnout();
+    }
+
+    // Monthly simulation
+    public void updateMonthlyStatus() {
+        int monthlyCompletedJobs = getMonthlyCompletedJobs();
+
+        // isBurnout or recovery
+        if (!isBurnout() && monthlyCompletedJobs >= 5){
+            setBurnout(true);
+        } else if (isBurnout() && monthlyCompletedJobs <= 2){
+            setBurnout(false);
+        }
+
+        // Bans for 5 cancellations in one month
+        if (getMonthlyCancelledJobs() >= 5) {setPlatformBanned(true);}
+
+        // Resets counters
+        setMonthlyCompletedJobs(0);
+        setMonthlyCancelledJobs(0);
+
+        // Applies queued service change
+        if (getHasQueuedChange()) {
+            store.service[page()][slot()] = store.queuedService[page()][slot()];
+            store.price[page()][slot()] = store.queuedPrice[page()][slot()];
+            setFlag(FreelancerStore.QUEUED_CHANGE, false);
+            store.queuedService[page()][slot()] = -1;
+            store.queuedPrice[page()][slot()] = 0;
+        }
+    }
+
+    // Changes queued service
+    public void queueServiceChange(String newService, int newPrice) {
+        store.queuedService[page()][slot()] = (byte) CompositeScorer.serviceIndex(newService);
+        store.queuedPrice[page()][slot()] = newPrice;
+        setFlag(FreelancerStore.QUEUED_CHANGE, true);
+    }
+
+    // Helper for output (the ID is resolved by the caller)
+    public String getInfo(String freelancerID) {
+        OutputSink out = new OutputSink();
+        out.append(freelancerID);
+        appendInfo(out);
+        return out.drain();
+    }
+
+    // Appends the info text that follows the ID
+    public void appendInfo(OutputSink out) {
+        String availableStr;
+        if (isAvailable()) {availableStr = "yes";}
+        else {availableStr = "no";}
+
+        String burnoutStr;
+        if (isBurnout()) {burnoutStr = "yes";}
+        else {burnoutStr = "no";}
+
+        out.append(": ").append(getServiceType())
+                .append(", price: ").append(getServicePrice())
+                .append(", rating: ").appendOneDecimal(getAverageRating())
+                .append(", completed: ").append(getCompletedJobs())
+                .append(", cancelled: ").append(getCancelledJobs())
+                .append(", skills: (").append(getT()).append(',').append(getC()).append(',').append(getR())
+                .append(',').append(getE()).append(',').append(getA()).append(')')
+                .append(", available: ").append(availableStr)
+                .append(", burnout: ").append(burnoutStr);
+    }
+
+    // ---HELPER METHODS---
+    // Adds one rating to the running average
+    private void addRating(int rating) {
+        int n = getRatingCount();
+        setAverageRating(((getAverageRating() * n) + rating) / (n + 1.0));
+        setRatingCount(n + 1);
+    }
+
+    // Flag bits of the row
+    private boolean hasFlag(int bit) {
+        return (store.flags[page()][slot()] & bit) != 0;
+    }
+    private void setFlag(int bit, boolean on) {
+        byte[] page = store.flags[page()];
+        int i = slot();
+        page[i] = (byte) (on ? (page[i] | bit) : (page[i] & ~bit));
+    }
+
+    // Page of the row in every store column, and its index inside the page
+    private int page() {
+        return row >>> FreelancerStore.PAGE_SHIFT;
+    }
+
+    private int slot() {
+        return row & FreelancerStore.PAGE_MASK;
+    }
+
+    // Service name of a byte-coded service, null for -1
+    private static String serviceName(int serviceIndex) {
+        return serviceIndex < 0 ? null : CompositeScorer.serviceName(serviceIndex);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,277 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Columnar storage of freelancer records, one primitive array per field and one row per freelancer.
+ *
+ * Services are byte-coded (CompositeScorer index), skills (0-100) fit in a byte and the
+ * boolean state is packed into one flags byte. A Freelancer is a thin view over its row
+ * that keeps only what the service heaps compare on (handle, score, heap slot).
+ *
+ * Columns are paged: row r is column[r >>> PAGE_SHIFT][r & PAGE_MASK]. The first page
+ * doubles up to PAGE_SIZE rows; after that the store grows by one more page per column, so
+ * adding a row never copies more than one page.
+ */
+public class FreelancerStore {
+
+    // DATA FIELDS
+    private static final int DEFAULT_CAPACITY = 16;
+    static final int PAGE_SHIFT = 16;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT; // Rows per full page
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // Flag bits
+    static final int AVAILABLE = 1;
+    static final int BURNOUT = 1 << 1;
+    static final int BANNED = 1 << 2;
+    static final int QUEUED_CHANGE = 1 << 3;
+    static final int MONTHLY_WORK = 1 << 4;
+
+    // Columns of pages (package-private, Freelancer reads and writes its row directly)
+    byte[][] service; // Service index, -1 if unknown
+    int[][] price;
+    byte[][] t;
+    byte[][] c;
+    byte[][] r;
+    byte[][] e;
+    byte[][] a;
+    byte[][] flags;
+    double[][] averageRating;
+    int[][] ratingCount;
+    int[][] completed;
+    int[][] cancelled;
+    int[][] monthlyCompleted;
+    int[][] monthlyCancelled;
+    byte[][] queuedService; // Service index of the queued change, -1 if none
+    int[][] queuedPrice;
+    int[][] employer; // Customer handle, -1 if none
+    Employment[][] employment; // Active employment, null if none
+
+    private int size; // Rows in use
+    private int capacity; // Rows allocated over all pages
+
+    // CONSTRUCTORS
+    // Default constructor
+    public FreelancerStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FreelancerStore(int initialCapacity) {
+        service = new byte[1][];
+        price = new int[1][];
+        t = new byte[1][];
+        c = new byte[1][];
+        r = new byte[1][];
+        e = new byte[1][];
+        a = new byte[1][];
+        flags = new byte[1][];
+        averageRating = new double[1][];
+        ratingCount = new int[1][];
+        completed = new int[1][];
+        cancelled = new int[1][];
+        monthlyCompleted = new int[1][];
+        monthlyCancelled = new int[1][];
+        queuedService = new byte[1][];
+        queuedPrice = new int[1][];
+        employer = new int[1][];
+        employment = new Employment[1][];
+        this.capacity = 0;
+        this.size = 0;
+        do {
+            grow();
+        } while (capacity < initialCapacity);
+    }
+
+    // ---METHODS---
+    // Adds a freelancer record and returns its view
+    public Freelancer add(int handle, String serviceType, int servicePrice, int T, int C, int R, int E, int A) {
+        int row = addRow(serviceType, servicePrice, T, C, R, E, A);
+        return new Freelancer(this, row, handle);
+    }
+
+    // Number of records
+    public int size() {
+        return size;
+    }
+
+    // Appends a row with the initial state of a new freelancer
+    int addRow(String serviceType, int servicePrice, int T, int C, int R, int E, int A) {
+        if (size == capacity) {
+            grow();
+        }
+        int row = size++;
+        int p = row >>> PAGE_SHIFT;
+        int i = row & PAGE_MASK;
+
+        service[p][i] = (byte) CompositeScorer.serviceIndex(serviceType);
+        price[p][i] = servicePrice;
+
+        t[p][i] = (byte) T;
+        c[p][i] = (byte) C;
+        r[p][i] = (byte) R;
+        e[p][i] = (byte) E;
+        a[p][i] = (byte) A;
+
+        flags[p][i] = AVAILABLE;
+
+        // Every freelancer starts with 1 rating of 5 stars
+        averageRating[p][i] = 5.0;
+        ratingCount[p][i] = 1;
+
+        queuedService[p][i] = -1;
+        employer[p][i] = -1;
+        return row;
+    }
+
+    // Writes rows 0 .. size of every column to a snapshot (active employments are objects,
+    // PlatformManager rebuilds them from the employer column). Pages are written back to
+    // back, so the snapshot holds each column as one run.
+    void writeTo(PlatformSnapshot snapshot) {
+        snapshot.putInt(size);
+        putPages(snapshot, service);
+        putPages(snapshot, price);
+        putPages(snapshot, t);
+        putPages(snapshot, c);
+        putPages(snapshot, r);
+        putPages(snapshot, e);
+        putPages(snapshot, a);
+        putPages(snapshot, flags);
+        putPages(snapshot, averageRating);
+        putPages(snapshot, ratingCount);
+        putPages(snapshot, completed);
+        putPages(snapshot, cancelled);
+        putPages(snapshot, monthlyCompleted);
+        putPages(snapshot, monthlyCancelled);
+        putPages(snapshot, queuedService);
+        putPages(snapshot, queuedPrice);
+        putPages(snapshot, employer);
+    }
+
+    // Reads the columns written by writeTo
+    static FreelancerStore readFrom(PlatformSnapshot snapshot) throws IOException {
+        int size = snapshot.getCount(1 << 29);
+        FreelancerStore store = new FreelancerStore(Math.max(DEFAULT_CAPACITY, size));
+        store.size = size;
+        store.getPages(snapshot, store.service);
+        store.getPages(snapshot, store.price);
+        store.getPages(snapshot, store.t);
+        store.getPages(snapshot, store.c);
+        store.getPages(snapshot, store.r);
+        store.getPages(snapshot, store.e);
+        store.getPages(snapshot, store.a);
+        store.getPages(snapshot, store.flags);
+        store.getPages(snapshot, store.averageRating);
+        store.getPages(snapshot, store.ratingCount);
+        store.getPages(snapshot, store.completed);
+        store.getPages(snapshot, store.cancelled);
+        store.getPages(snapshot, store.monthlyCompleted);
+        store.getPages(snapshot, store.monthlyCancelled);
+        store.getPages(snapshot, store.queuedService);
+        store.getPages(snapshot, store.queuedPrice);
+        store.getPages(snapshot, store.employer);
+        return store;
+    }
+
+    // ---HELPER METHODS---
+    // Doubles the first page up to PAGE_SIZE rows, then adds a full page to every column
+    private void grow() {
+        int page = capacity >>> PAGE_SHIFT;
+        int length = PAGE_SIZE;
+        if (capacity < PAGE_SIZE) {
+            page = 0;
+            length = Math.min(Math.max(capacity * 2, DEFAULT_CAPACITY), PAGE_SIZE);
+        }
+        service = page(service, page, length);
+        price = page(price, page, length);
+        t = page(t, page, length);
+        c = page(c, page, length);
+        r = page(r, page, length);
+        e = page(e, page, length);
+        a = page(a, page, length);
+        flags = page(flags, page, length);
+        averageRating = page(averageRating, page, length);
+        ratingCount = page(ratingCount, page, length);
+        completed = page(completed, page, length);
+        cancelled = page(cancelled, page, length);
+        monthlyCompleted = page(monthlyCompleted, page, length);
+        monthlyCancelled = page(monthlyCancelled, page, length);
+        queuedService = page(queuedService, page, length);
+        queuedPrice = page(queuedPrice, page, length);
+        employer = page(employer, page, length);
+        employment = page(employment, page, length);
+        capacity = (page << PAGE_SHIFT) + length;
+    }
+
+    // Creates (or enlarges) page number page of a column to length rows
+    private static byte[][] page(byte[][] column, int page, int length) {
+        if (page == column.length) {
+            column = Arrays.copyOf(column, page * 2); // Page references only
+        }
+        column[page] = column[page] == null ? new byte[length] : Arrays.copyOf(column[page], length);
+        return column;
+    }
+
+    private static int[][] page(int[][] column, int page, int length) {
+        if (page == column.length) {
+            column = Arrays.copyOf(column, page * 2);
+        }
+        column[page] = column[page] == null ? new int[length] : Arrays.copyOf(column[page], length);
+        return column;
+    }
+
+    private static double[][] page(double[][] column, int page, int length) {
+        if (page == column.length) {
+            column = Arrays.copyOf(column, page * 2);
+        }
+        column[page] = column[page] == null ? new double[length] : Arrays.copyOf(column[page], length);
+        return column;
+    }
+
+    private static Employment[][] page(Employment[][] column, int page, int length) {
+        if (page == column.length) {
+            column = Arrays.copyOf(column, page * 2);
+        }
+        column[page] = column[page] == null ? new Employment[length] : Arrays.copyOf(column[page], length);
+        return column;
+    }
+
+    // Rows 0 .. size of a column, page by page
+    private void putPages(PlatformSnapshot snapshot, byte[][] column) {
+        for (int from = 0; from < size; from += PAGE_SIZE) {
+            snapshot.putBytes(column[from >>> PAGE_SHIFT], Math.min(PAGE_SIZE, size - from));
+        }
+    }
+
+    private void putPages(PlatformSnapshot snapshot, int[][] column) {
+        for (int from = 0; from < size; from += PAGE_SIZE) {
+            snapshot.putInts(column[from >>> PAGE_SHIFT], Math.min(PAGE_SIZE, size - from));
+        }
+    }
+
+    private void putPages(PlatformSnapshot snapshot, double[][] column) {
+        for (int from = 0; from < size; from += PAGE_SIZE) {
+            snapshot.putDoubles(column[from >>> PAGE_SHIFT], Math.min(PAGE_SIZE, size - from));
+        }
+    }
+
+    private void getPages(PlatformSnapshot snapshot, byte[][] column) {
+        for (int from = 0; from < size; from += PAGE_SIZE) {
+            snapshot.getBytes(column[from >>> PAGE_SHIFT], Math.min(PAGE_SIZE, size - from));
+        }
+    }
+
+    private void getPages(PlatformSnapshot snapshot, int[][] column) {
+        for (int from = 0; from < size; from += PAGE_SIZE) {
+            snapshot.getInts(column[from >>> PAGE_SHIFT], Math.min(PAGE_SIZE, size - from));
+        }
+    }
+
+    private void getPages(PlatformSnapshot snapshot, double[][] column) {
+        for (int from = 0; from < size; from += PAGE_SIZE) {
+            snapshot.getDoubles(column[from >>> PAGE_SHIFT], Math.min(PAGE_SIZE, size - from));
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package gigmatch;
+
+/**
+ * Element of a MyPriorityQueue that stores its own position in the heap.
+ *
+ * The queue keeps the index up to date on every move, so remove(element) finds
+ * the slot directly. An element can be in at most one queue at a time.
+ */
+public interface HeapIndexed {
+
+    // Index in the heap array, -1 when not in a queue
+    int getHeapIndex();
+
+    void setHeapIndex(int heapIndex);
+
+}
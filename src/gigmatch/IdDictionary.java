@@ -0,0 +1,438 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Interns customer and freelancer IDs into dense int handles (0, 1, 2, ...).
+ *
+ * The ID bytes (UTF-8) are stored back to back in byte pages, so an ID costs its
+ * length plus a few ints instead of a String object. The lookup table is open
+ * addressing over handles with cached hashes, like MyHashTable.
+ *
+ * Nothing grows with one big copy. The per-handle records (location, length, hash) are
+ * paged like the FreelancerStore columns, and the ID bytes fill 64 KB pages (an ID never
+ * spans two; a longer one gets a page of its own). The lookup table grows incrementally,
+ * like MyHashTable(true): after a doubling the old table stays readable, and each later
+ * add moves a few handles into the new one. Nothing is ever removed, so the old table is
+ * never written again and lookups simply probe the new table, then the old one.
+ */
+public class IdDictionary {
+
+    // DATA FIELDS
+    private static final int DEFAULT_CAPACITY = 16; // Slots, must be a power of two
+    private static final int GOLDEN_RATIO = 0x9E3779B9; // Multiplier for Fibonacci hashing
+    private static final int MIGRATE_STEP = 8; // Handles moved to the new slot table per add
+
+    // Record pages: handle h is at [h >>> PAGE_SHIFT][h & PAGE_MASK]
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    // Byte pages: a location is (byte page << 16) | offset in the page
+    private static final int BYTE_PAGE_SIZE = 1 << 16;
+    private static final int MAX_BYTE_PAGES = 1 << 16;
+
+    private byte[][] bytePages; // IDs back to back, page by page
+    private int[] bytePageUsed; // Bytes in use of each page
+    private int bytePageCount; // Pages in use, the last one is being filled
+    private int byteCount; // Bytes of all IDs
+    private int[][] locations; // Where the bytes of ID h start
+    private int[][] lengths; // Byte length of ID h
+    private int[][] hashes; // Cached mixed hash of ID h
+    private int recordCapacity; // Handles the record pages hold
+    private int count; // Number of handles
+
+    private int[] slots; // Open addressing, handle + 1 (0 marks an empty slot)
+    private int shift; // 32 - log2(slots.length)
+
+    // Incremental resize: slot table before the last doubling, null once every handle moved
+    private int[] oldSlots;
+    private int oldShift;
+    private int migrated; // Handles below this are in slots too
+    private int migrateEnd; // Handles in oldSlots
+
+    // CONSTRUCTORS
+    // Default constructor
+    public IdDictionary() {
+        this.bytePages = new byte[][] {new byte[256]};
+        this.bytePageUsed = new int[1];
+        this.bytePageCount = 1;
+        this.byteCount = 0;
+        this.locations = new int[1][];
+        this.lengths = new int[1][];
+        this.hashes = new int[1][];
+        this.recordCapacity = 0;
+        growRecords();
+        this.count = 0;
+        this.slots = new int[DEFAULT_CAPACITY * 2];
+        this.shift = 32 - Integer.numberOfTrailingZeros(slots.length);
+    }
+
+    // ---METHODS---
+    // Number of interned IDs
+    public int size() {
+        return count;
+    }
+
+    // Returns the handle of an ID, or -1 if it was never interned
+    public int lookup(String id) {
+        if (id == null) {
+            return -1;
+        }
+        if (!isAscii(id)) {
+            byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+            return lookup(utf8, 0, utf8.length);
+        }
+
+        int h = mix(asciiHash(id));
+        int handle = find(slots, shift, h, id);
+        if (handle < 0 && oldSlots != null) {
+            handle = find(oldSlots, oldShift, h, id);
+        }
+        return handle;
+    }
+
+    // Returns the handle of the ID in buf[off .. off + len), or -1 if it was never interned
+    public int lookup(byte[] buf, int off, int len) {
+        int h = mix(byteHash(buf, off, len));
+        int handle = find(slots, shift, h, buf, off, len);
+        if (handle < 0 && oldSlots != null) {
+            handle = find(oldSlots, oldShift, h, buf, off, len);
+        }
+        return handle;
+    }
+
+    // Returns the handle of an ID, adding it if it is new
+    public int intern(String id) {
+        int handle = lookup(id);
+        if (handle >= 0) {
+            return handle;
+        }
+        byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+        return add(utf8, 0, utf8.length, mix(byteHash(utf8, 0, utf8.length)));
+    }
+
+    // Returns the ID of a handle as a new String
+    public String name(int handle) {
+        return new String(bytesOf(handle), startOf(handle), lengthOf(handle), StandardCharsets.UTF_8);
+    }
+
+    // Appends the ID of a handle without creating a String (for ASCII IDs)
+    public StringBuilder appendName(StringBuilder sb, int handle) {
+        byte[] bytes = bytesOf(handle);
+        int start = startOf(handle);
+        int end = start + lengthOf(handle);
+        for (int i = start; i < end; i++) {
+            if (bytes[i] < 0) { // Non-ASCII, decodes the whole ID
+                sb.setLength(sb.length() - (i - start));
+                return sb.append(name(handle));
+            }
+            sb.append((char) bytes[i]);
+        }
+        return sb;
+    }
+
+    // Appends the ID of a handle to a sink, as bytes when the sink's charset gives the same ones
+    public void appendName(OutputSink out, int handle) {
+        byte[] bytes = bytesOf(handle);
+        int start = startOf(handle);
+        int end = start + lengthOf(handle);
+        if (!out.isUtf8()) {
+            for (int i = start; i < end; i++) {
+                if (bytes[i] < 0) { // Non-ASCII, encoded by the sink
+                    out.append(name(handle));
+                    return;
+                }
+            }
+        }
+        out.append(bytes, start, end - start);
+    }
+
+    // Compares two IDs byte by byte, unsigned.
+    // This is String.compareTo order for ASCII and Latin-1 IDs (and code point order otherwise).
+    public int compare(int a, int b) {
+        if (a == b) return 0;
+        byte[] aBytes = bytesOf(a);
+        byte[] bBytes = bytesOf(b);
+        int aLength = lengthOf(a);
+        int bLength = lengthOf(b);
+        int i = startOf(a);
+        int j = startOf(b);
+        int aEnd = i + aLength;
+        int bEnd = j + bLength;
+
+        while (i < aEnd && j < bEnd) {
+            int x = aBytes[i++] & 0xFF;
+            int y = bBytes[j++] & 0xFF;
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    // Writes every ID to a snapshot (lookup slots are rebuilt on reading)
+    void writeTo(PlatformSnapshot snapshot) {
+        snapshot.putInt(count);
+        snapshot.putInt(byteCount);
+        int offset = 0; // IDs are written back to back, so offsets are a running sum
+        snapshot.putInt(offset);
+        for (int handle = 0; handle < count; handle++) {
+            offset += lengthOf(handle);
+            snapshot.putInt(offset);
+        }
+        for (int page = 0; page < bytePageCount; page++) {
+            snapshot.putBytes(bytePages[page], bytePageUsed[page]);
+        }
+    }
+
+    // Reads the IDs written by writeTo, handles stay the same
+    static IdDictionary readFrom(PlatformSnapshot snapshot) throws IOException {
+        IdDictionary d = new IdDictionary();
+        int count = snapshot.getCount(1 << 29);
+        int byteCount = snapshot.getCount(Integer.MAX_VALUE - 8);
+        int[] offsets = snapshot.getInts(new int[count + 1], count + 1);
+        byte[] bytes = snapshot.getBytes(new byte[byteCount], byteCount);
+
+        int slotCount = DEFAULT_CAPACITY * 2;
+        while (count >= slotCount >>> 1) { // Same load as after count adds
+            slotCount <<= 1;
+        }
+
+        d.slots = new int[slotCount];
+        d.shift = 32 - Integer.numberOfTrailingZeros(slotCount);
+        for (int handle = 0; handle < count; handle++) {
+            int start = offsets[handle];
+            int len = offsets[handle + 1] - start;
+            if (start < 0 || len < 0 || offsets[handle + 1] > byteCount) {
+                throw new IOException("Corrupt ID offsets in snapshot");
+            }
+            int h = mix(byteHash(bytes, start, len));
+            d.insertSlot(d.store(bytes, start, len, h), h);
+        }
+        return d;
+    }
+
+    // ---HELPER METHODS---
+    // Stores a new ID and returns its handle
+    private int add(byte[] buf, int off, int len, int h) {
+        int handle = store(buf, off, len, h);
+        insertSlot(handle, h);
+        if (oldSlots != null) {
+            migrate(MIGRATE_STEP);
+        }
+        if (count >= slots.length >>> 1) {
+            resize();
+        }
+        return handle;
+    }
+
+    // Appends the record of a new ID without touching the slot table, returns its handle
+    private int store(byte[] buf, int off, int len, int h) {
+        if (len > Integer.MAX_VALUE - 8 - byteCount) {
+            throw new IllegalStateException("ID dictionary is full");
+        }
+        if (count == recordCapacity) {
+            growRecords();
+        }
+
+        int page = bytePageCount - 1;
+        int used = bytePageUsed[page];
+        if (used + len > bytePages[page].length || used > 0xFFFF) { // Start must fit in 16 bits
+            if (page == 0 && used + len <= BYTE_PAGE_SIZE) { // First page doubles up to full size
+                int size = bytePages[0].length * 2;
+                while (size < used + len) {
+                    size *= 2;
+                }
+                bytePages[0] = Arrays.copyOf(bytePages[0], Math.min(size, BYTE_PAGE_SIZE));
+            } else { // A longer ID gets a page of its own length
+                page = addBytePage(Math.max(BYTE_PAGE_SIZE, len));
+                used = 0;
+            }
+        }
+
+        int handle = count++;
+        System.arraycopy(buf, off, bytePages[page], used, len);
+        bytePageUsed[page] = used + len;
+        byteCount += len;
+        int p = handle >>> PAGE_SHIFT;
+        int i = handle & PAGE_MASK;
+        locations[p][i] = (page << 16) | used;
+        lengths[p][i] = len;
+        hashes[p][i] = h;
+        return handle;
+    }
+
+    // Starts a new byte page and returns its index
+    private int addBytePage(int size) {
+        if (bytePageCount == MAX_BYTE_PAGES) {
+            throw new IllegalStateException("ID dictionary is full");
+        }
+        if (bytePageCount == bytePages.length) { // Copies page references only
+            bytePages = Arrays.copyOf(bytePages, bytePageCount * 2);
+            bytePageUsed = Arrays.copyOf(bytePageUsed, bytePageCount * 2);
+        }
+        bytePages[bytePageCount] = new byte[size];
+        return bytePageCount++;
+    }
+
+    // Doubles the first record page up to PAGE_SIZE, then adds one full page
+    private void growRecords() {
+        if (recordCapacity < PAGE_SIZE) {
+            int size = recordCapacity == 0 ? DEFAULT_CAPACITY : recordCapacity * 2;
+            locations[0] = recordCapacity == 0 ? new int[size] : Arrays.copyOf(locations[0], size);
+            lengths[0] = recordCapacity == 0 ? new int[size] : Arrays.copyOf(lengths[0], size);
+            hashes[0] = recordCapacity == 0 ? new int[size] : Arrays.copyOf(hashes[0], size);
+            recordCapacity = size;
+            return;
+        }
+        int page = recordCapacity >>> PAGE_SHIFT;
+        if (page == locations.length) { // Copies page references only
+            locations = Arrays.copyOf(locations, page * 2);
+            lengths = Arrays.copyOf(lengths, page * 2);
+            hashes = Arrays.copyOf(hashes, page * 2);
+        }
+        locations[page] = new int[PAGE_SIZE];
+        lengths[page] = new int[PAGE_SIZE];
+        hashes[page] = new int[PAGE_SIZE];
+        recordCapacity += PAGE_SIZE;
+    }
+
+    // Byte page holding the ID of a handle
+    private byte[] bytesOf(int handle) {
+        return bytePages[locations[handle >>> PAGE_SHIFT][handle & PAGE_MASK] >>> 16];
+    }
+
+    // Start of the ID of a handle in its byte page
+    private int startOf(int handle) {
+        return locations[handle >>> PAGE_SHIFT][handle & PAGE_MASK] & 0xFFFF;
+    }
+
+    private int lengthOf(int handle) {
+        return lengths[handle >>> PAGE_SHIFT][handle & PAGE_MASK];
+    }
+
+    private int hashOf(int handle) {
+        return hashes[handle >>> PAGE_SHIFT][handle & PAGE_MASK];
+    }
+
+    // Handle of an ASCII ID in one slot table, or -1
+    private int find(int[] table, int tableShift, int h, String id) {
+        int mask = table.length - 1;
+        int i = h >>> tableShift;
+
+        int slot;
+        while ((slot = table[i]) != 0) {
+            int handle = slot - 1;
+            if (hashOf(handle) == h && equalsAscii(handle, id)) {
+                return handle;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Handle of the ID in buf[off .. off + len) in one slot table, or -1
+    private int find(int[] table, int tableShift, int h, byte[] buf, int off, int len) {
+        int mask = table.length - 1;
+        int i = h >>> tableShift;
+
+        int slot;
+        while ((slot = table[i]) != 0) {
+            int handle = slot - 1;
+            if (hashOf(handle) == h && equalsBytes(handle, buf, off, len)) {
+                return handle;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Places a handle in the first empty slot of its probe sequence
+    private void insertSlot(int handle, int h) {
+        int mask = slots.length - 1;
+        int i = h >>> shift;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = handle + 1;
+    }
+
+    // Doubles the slot table. The old one stays readable until add has moved all its handles,
+    // which takes count / MIGRATE_STEP adds, long before the next doubling at 2 * count.
+    private void resize() {
+        if (oldSlots != null) { // Not reached with MIGRATE_STEP >= 1, kept as a safeguard
+            migrate(migrateEnd - migrated);
+        }
+        oldSlots = slots;
+        oldShift = shift;
+        slots = new int[slots.length * 2];
+        shift--;
+        migrated = 0;
+        migrateEnd = count;
+    }
+
+    // Moves up to n more handles into the new slot table, reusing the cached hashes
+    private void migrate(int n) {
+        int end = Math.min(migrated + n, migrateEnd);
+        for (int handle = migrated; handle < end; handle++) {
+            insertSlot(handle, hashOf(handle));
+        }
+        migrated = end;
+        if (migrated == migrateEnd) {
+            oldSlots = null;
+        }
+    }
+
+    private static int mix(int h) {
+        return h * GOLDEN_RATIO;
+    }
+
+    // Same as byteHash over the UTF-8 bytes of an ASCII String
+    private static int asciiHash(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h;
+    }
+
+    private static int byteHash(byte[] buf, int off, int len) {
+        int h = 0;
+        for (int i = off; i < off + len; i++) {
+            h = 31 * h + (buf[i] & 0xFF);
+        }
+        return h;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsAscii(int handle, String s) {
+        if (lengthOf(handle) != s.length()) {
+            return false;
+        }
+        byte[] bytes = bytesOf(handle);
+        int start = startOf(handle);
+        for (int i = 0; i < s.length(); i++) {
+            if (bytes[start + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsBytes(int handle, byte[] buf, int off, int len) {
+        int start = startOf(handle);
+        return lengthOf(handle) == len
+                && Arrays.equals(bytesOf(handle), start, start + len, buf, off, off + len);
+    }
+
+}
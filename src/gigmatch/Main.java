@@ -0,0 +1,375 @@
+package gigmatch;
+
+import java.io.*;
+import java.net.SocketAddress;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Main entry point for GigMatch Pro platform.
+ */
+public class Main {
+
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.US);
+        if (args.length == 3 && args[0].equals("--convert")) {
+            convert(args[1], args[2]);
+            return;
+        }
+        if (args.length == 2 && args[0].equals("--serve")) {
+            serve(args[1]);
+            return;
+        }
+        if (args.length != 2) {
+            System.err.println("Usage: java Main <input_file> <output_file>");
+            System.err.println("       java Main --convert <input_file> <trace_file>");
+            System.err.println("       java Main --serve <port | host:port | unix:socket_path>");
+            System.exit(1);
+        }
+
+        String inputFile = args[0];
+        String outputFile = args[1];
+
+        PlatformManager platform = new PlatformManager(); // Initialized for thia class
+        String restoreFile = System.getProperty("gigmatch.restore"); // Snapshot written by checkpoint
+        if (restoreFile != null) {
+            try {
+                platform = PlatformManager.readSnapshot(Paths.get(restoreFile));
+            } catch (IOException e) {
+                System.err.println("Error reading snapshot: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        String ledgerDir = System.getProperty("gigmatch.ledgerDir"); // Finished jobs are only kept with a ledger
+        String walDir = System.getProperty("gigmatch.walDir"); // Mutations are only durable with a log
+        boolean pipeline = Boolean.getBoolean("gigmatch.pipeline"); // Parse, run and write on three threads
+
+        try (WriteAheadLog wal = walDir == null ? null : WriteAheadLog.open(Paths.get(walDir), platform,
+                     Integer.getInteger("gigmatch.walGroupBytes", WriteAheadLog.DEFAULT_GROUP_BYTES),
+                     Long.getLong("gigmatch.walDelayMillis", WriteAheadLog.DEFAULT_MAX_DELAY_MILLIS),
+                     Long.getLong("gigmatch.walSegmentBytes", WriteAheadLog.DEFAULT_SEGMENT_BYTES));
+             EmploymentLedger ledger = ledgerDir == null ? null : new EmploymentLedger(Paths.get(ledgerDir));
+             FileChannel input = FileChannel.open(Paths.get(inputFile));
+             FileChannel output = FileChannel.open(Paths.get(outputFile), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            if (wal != null) { // Continues from the state in the log
+                platform = wal.getPlatform();
+                if (wal.getRecovered() > 0) {
+                    System.err.println("recovered " + wal.getRecovered() + " logged mutations from " + walDir);
+                }
+            }
+            platform.setRequestScanBudget(Integer.getInteger("gigmatch.requestScanBudget", 0)); // 0 = no bound
+            platform.setLedger(ledger);
+            if (CommandTrace.isTrace(input)) { // Binary trace written by --convert
+                OutputSink out = new OutputSink(wal == null ? output : wal.gate(output));
+                try {
+                    new CommandTrace(platform).run(input, out);
+                } finally {
+                    out.flush();
+                }
+            } else if (pipeline) {
+                try (AsyncChannel writer = new AsyncChannel(output)) {
+                    OutputSink out = new OutputSink(wal == null ? writer : wal.gate(writer));
+                    try {
+                        new CommandParser(platform).runPipelined(input, out);
+                    } finally {
+                        out.flush();
+                    }
+                }
+            } else {
+                // Results are encoded straight into bytes, and only written once their log records are
+                OutputSink out = new OutputSink(wal == null ? output : wal.gate(output));
+                try {
+                    new CommandParser(platform).run(input, out); // Byte-level parsing of the mapped input
+                } finally {
+                    out.flush();
+                }
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error reading/writing files: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        if (platform.getScanBudgetHits() > 0) {
+            System.err.println("request_job scan budget (" + platform.getRequestScanBudget()
+                    + ") reached " + platform.getScanBudgetHits() + " times");
+        }
+    }
+
+    // Runs commands from socket clients until the process is stopped. Same flags as file mode,
+    // plus -Dgigmatch.serverEngine=concurrent to run sessions in parallel without a log,
+    // -Dgigmatch.serverSnapshotDir=DIR to let clients checkpoint into DIR, and
+    // -Dgigmatch.serverAllowRemote=true to listen on other interfaces than loopback
+    private static void serve(String address) {
+        PlatformManager platform = new PlatformManager();
+        String restoreFile = System.getProperty("gigmatch.restore");
+        String ledgerDir = System.getProperty("gigmatch.ledgerDir");
+        String walDir = System.getProperty("gigmatch.walDir");
+        boolean concurrent = "concurrent".equals(System.getProperty("gigmatch.serverEngine", "ordered"));
+        String snapshotDir = System.getProperty("gigmatch.serverSnapshotDir"); // Clients cannot checkpoint without it
+        if (concurrent && walDir != null) {
+            System.err.println("The concurrent server engine cannot be used with gigmatch.walDir");
+            System.exit(1);
+        }
+
+        Thread hook = null;
+        try {
+            if (restoreFile != null) {
+                platform = PlatformManager.readSnapshot(Paths.get(restoreFile));
+            }
+            try (WriteAheadLog wal = walDir == null ? null : WriteAheadLog.open(Paths.get(walDir), platform,
+                         Integer.getInteger("gigmatch.walGroupBytes", WriteAheadLog.DEFAULT_GROUP_BYTES),
+                         Long.getLong("gigmatch.walDelayMillis", WriteAheadLog.DEFAULT_MAX_DELAY_MILLIS),
+                         Long.getLong("gigmatch.walSegmentBytes", WriteAheadLog.DEFAULT_SEGMENT_BYTES));
+                 EmploymentLedger ledger = ledgerDir == null ? null : new EmploymentLedger(Paths.get(ledgerDir))) {
+
+                if (wal != null) {
+                    platform = wal.getPlatform();
+                    if (wal.getRecovered() > 0) {
+                        System.err.println("recovered " + wal.getRecovered() + " logged mutations from " + walDir);
+                    }
+                }
+                platform.setRequestScanBudget(Integer.getInteger("gigmatch.requestScanBudget", 0));
+                platform.setLedger(ledger);
+
+                PlatformServer server = new PlatformServer(platform, concurrent,
+                        snapshotDir == null ? null : Paths.get(snapshotDir));
+                // On Ctrl-C or kill: stop the server, then wait for this thread to close the log and ledger
+                Thread main = Thread.currentThread();
+                hook = new Thread(() -> {
+                    try {
+                        server.close();
+                        main.join();
+                    } catch (IOException | InterruptedException e) {
+                        // Exiting anyway
+                    }
+                });
+                Runtime.getRuntime().addShutdownHook(hook);
+                SocketAddress bound = server.bind(PlatformServer.parseAddress(address),
+                        Boolean.getBoolean("gigmatch.serverAllowRemote"));
+                System.err.println("serving on " + bound + " (" + (concurrent ? "concurrent" : "ordered")
+                        + " engine, " + (server.hasVirtualSessions() ? "virtual" : "platform") + " session threads)");
+                try {
+                    server.serve();
+                } finally {
+                    server.close();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error serving: " + e.getMessage());
+            e.printStackTrace();
+            if (hook != null) {
+                Runtime.getRuntime().removeShutdownHook(hook); // It would wait for this thread to exit
+            }
+            System.exit(1);
+        }
+    }
+
+    // Writes the binary trace of a text command file
+    private static void convert(String inputFile, String traceFile) {
+        try {
+            long commands = CommandTrace.convert(Paths.get(inputFile), Paths.get(traceFile));
+            System.err.println("converted " + commands + " commands, " + Files.size(Paths.get(inputFile))
+                    + " -> " + Files.size(Paths.get(traceFile)) + " bytes");
+        } catch (IOException e) {
+            System.err.println("Error reading/writing files: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    // Runs one trimmed, non-empty line given as a String. IDs are resolved to handles here,
+    // once per command; PlatformManager works on handles. CommandParser does the same on bytes
+    // and calls this for lines with non-ASCII bytes.
+    public static void processCommand(String command, OutputSink out, PlatformManager platform)
+            throws IOException {
+
+        String[] parts = command.split("\\s+");
+        String operation = parts[0];
+
+        try {
+            String result = "";
+
+            switch (operation) {
+                case "register_customer":
+                    // Format: register_customer customerID
+                    if (parts.length == 2) {
+                        String customerID = parts[1];
+                        result = platform.registerCustomer(customerID);
+                    } else {
+                        result = "Some error occurred in register_customer.";
+                    }
+                    break;
+
+                case "register_freelancer":
+                    // Format: register_freelancer freelancerID serviceName basePrice T C R E A
+                    if (parts.length == 9) {
+                        String freelancerID = parts[1];
+                        String serviceType = parts[2];
+                        int servicePrice = Integer.parseInt(parts[3]);
+                        int T = Integer.parseInt(parts[4]);
+                        int C = Integer.parseInt(parts[5]);
+                        int R = Integer.parseInt(parts[6]);
+                        int E = Integer.parseInt(parts[7]);
+                        int A = Integer.parseInt(parts[8]);
+                        result = platform.registerFreelancer(freelancerID, serviceType, servicePrice, T, C, R, E, A);
+                    } else {
+                        result = "Some error occurred in register_freelancer.";
+                    }
+                    break;
+
+                case "request_job":
+                    // Format: request_job customerID serviceName topK
+                    if (parts.length == 4) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        String serviceName = parts[2];
+                        int topK = Integer.parseInt(parts[3]);
+                        result = platform.requestJob(customerHandle, serviceName, topK);
+                    } else {
+                        result = "Some error occurred in request_job.";
+                    }
+                    break;
+
+                case "employ_freelancer":
+                    // Format: employ_freelancer customerID freelancerID
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        result = platform.employ(customerHandle, freelancerHandle);
+                    } else {
+                        result = "Some error occurred in employ.";
+                    }
+                    break;
+
+                case "complete_and_rate":
+                    // Format: complete_and_rate freelancerID rating
+                    if (parts.length == 3) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        int rating = Integer.parseInt(parts[2]);
+                        result = platform.completeAndRate(freelancerHandle, rating);
+                    } else {
+                        result = "Some error occurred in complete_and_rate.";
+                    }
+                    break;
+
+                case "cancel_by_freelancer":
+                    // Format: cancel_by_freelancer freelancerID
+                    if (parts.length == 2) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        result = platform.cancelByFreelancer(freelancerHandle);
+                    } else {
+                        result = "Some error occurred in cancel_by_freelancer.";
+                    }
+                    break;
+
+                case "cancel_by_customer":
+                    // Format: cancel_by_customer customerID freelancerID
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        result = platform.cancelByCustomer(customerHandle, freelancerHandle);
+                    } else {
+                        result = "Some error occurred in cancel_by_customer.";
+                    }
+                    break;
+
+                case "blacklist":
+                    // Format: blacklist customerID freelancerID
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        result = platform.blacklist(customerHandle, freelancerHandle);
+                    } else {
+                        result = "Some error occurred in blacklist.";
+                    }
+                    break;
+
+                case "unblacklist":
+                    // Format: unblacklist customerID freelancerID
+                    if (parts.length == 3) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        int freelancerHandle = platform.lookupId(parts[2]);
+                        result = platform.unblacklist(customerHandle, freelancerHandle);
+                    } else {
+                        result = "Some error occurred in unblacklist.";
+                    }
+                    break;
+
+                case "change_service":
+                    // Format: change_service freelancerID newService newPrice
+                    if (parts.length == 4) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        String newService = parts[2];
+                        int newPrice = Integer.parseInt(parts[3]);
+                        result = platform.changeService(freelancerHandle, newService, newPrice);
+                    } else {
+                        result = "Some error occurred in change_service.";
+                    }
+                    break;
+
+                case "simulate_month":
+                    // Format: simulate_month
+                    result = platform.simulateMonth();
+                    break;
+
+                case "query_freelancer":
+                    // Format: query_freelancer freelancerID
+                    if (parts.length == 2) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        result = platform.queryFreelancer(freelancerHandle);
+                    } else {
+                        result = "Some error occurred in query_freelancer.";
+                    }
+                    break;
+
+                case "query_customer":
+                    if (parts.length == 2) {
+                        int customerHandle = platform.lookupId(parts[1]);
+                        result = platform.queryCustomer(customerHandle);
+                    } else {
+                        result = "Some error occurred in query_customer.";
+                    }
+                    break;
+
+                case "update_skill":
+                    // Format: update_skill freelancerID T C R E A
+                    if (parts.length == 7) {
+                        int freelancerHandle = platform.lookupId(parts[1]);
+                        int T = Integer.parseInt(parts[2]);
+                        int C = Integer.parseInt(parts[3]);
+                        int R = Integer.parseInt(parts[4]);
+                        int E = Integer.parseInt(parts[5]);
+                        int A = Integer.parseInt(parts[6]);
+                        result = platform.updateSkill(freelancerHandle, T, C, R, E, A);
+                    } else {
+                        result = "Some error occurred in update_skill.";
+                    }
+                    break;
+
+                case "checkpoint":
+                    // Format: checkpoint snapshotFile
+                    if (parts.length == 2) {
+                        result = platform.checkpoint(parts[1]);
+                    } else {
+                        result = "Some error occurred in checkpoint.";
+                    }
+                    break;
+
+                default:
+                    result = "Unknown command: " + operation;
+            }
+
+            out.append(result);
+            out.endLine();
+
+        } catch (Exception e) {
+            out.append("Error processing command: " + command);
+            out.endLine();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,339 @@
+package gigmatch;
+
+import java.util.Arrays;
+
+public class MyHashTable<V> {
+
+    // DATA FIELDS
+    private static final int DEFAULT_CAPACITY = 16; // Must be a power of two
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int GOLDEN_RATIO = 0x9E3779B9; // Multiplier for Fibonacci hashing
+    private static final int MIGRATION_STEP = 16; // Old slots moved per mutation in incremental mode
+
+    // Open addressing with linear probing, entry i lives in keys[i]/values[i]/hashes[i]
+    private String[] keys; // null marks an empty slot
+    private V[] values;
+    private int[] hashes; // Cached mixed hash of keys[i]
+
+    private int size; // Entries in both tables while a migration is running
+    private int capacity; // Always a power of two
+    private int shift; // 32 - log2(capacity), the top bits of the hash pick the slot
+    private int threshold; // Resizes when size reaches this (load factor 0.5)
+
+    // Incremental resizing: the previous table stays readable until every slot has moved
+    private final boolean incrementalResize;
+    private String[] oldKeys; // null when no migration is running
+    private V[] oldValues;
+    private int[] oldHashes;
+    private int oldShift;
+    private int migrateIndex; // Next old slot to move
+    private int migrateRemaining; // Old slots not visited yet
+
+    // CONSTRUCTORS
+    // Default constructor
+    public MyHashTable() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    // incrementalResize spreads each rehash over the following put/remove calls
+    public MyHashTable(boolean incrementalResize) {
+        this(DEFAULT_CAPACITY, incrementalResize);
+    }
+
+    // Constructor with a capacity hint (rounded up to a power of two)
+    public MyHashTable(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    public MyHashTable(int initialCapacity, boolean incrementalResize) {
+        int cap = DEFAULT_CAPACITY;
+        while (cap < initialCapacity && cap < MAX_CAPACITY) {
+            cap <<= 1;
+        }
+        allocate(cap);
+        this.size = 0;
+        this.incrementalResize = incrementalResize;
+    }
+
+    // ---HELPER METHODS
+    // Computes the cached hash for a key (the slot comes from its top bits)
+    private static int hash(String key) {
+        return key.hashCode() * GOLDEN_RATIO;
+    }
+
+    // Finds the slot holding the key in the given arrays, or -1
+    private static int find(String[] ks, int[] hs, int sh, String key, int h) {
+        int mask = ks.length - 1;
+        int i = h >>> sh;
+
+        String k;
+        while ((k = ks[i]) != null) {
+            if (hs[i] == h && (k == key || k.equals(key))) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Allocates empty arrays for the given capacity
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.shift = 32 - Integer.numberOfTrailingZeros(newCapacity);
+        this.threshold = newCapacity >>> 1;
+        this.keys = new String[newCapacity];
+        this.values = (V[]) new Object[newCapacity];
+        this.hashes = new int[newCapacity];
+    }
+
+    // ---METHODS---
+    // Puts a key-value pair into the hash table
+    public void put(String key, V value) {
+        if (key == null) {
+            return;
+        }
+
+        int h = hash(key);
+
+        // Updates in place if the key has not been migrated yet
+        if (oldKeys != null) {
+            int j = find(oldKeys, oldHashes, oldShift, key, h);
+            if (j >= 0) {
+                oldValues[j] = value;
+                migrateStep();
+                return;
+            }
+        }
+
+        int mask = capacity - 1;
+        int i = h >>> shift;
+
+        // Checks if key already exists and updates value
+        String k;
+        while ((k = keys[i]) != null) {
+            if (hashes[i] == h && (k == key || k.equals(key))) {
+                values[i] = value;
+                if (oldKeys != null) migrateStep();
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        // Stores in the first empty slot of the probe sequence
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = h;
+        size++;
+
+        if (oldKeys != null) migrateStep();
+
+        // Checks if resize is needed
+        if (size >= threshold && capacity < MAX_CAPACITY) {
+            resize();
+        }
+    }
+
+    // Gets the value associated with a key
+    public V get(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        int h = hash(key);
+        int i = find(keys, hashes, shift, key, h);
+        if (i >= 0) {
+            return values[i];
+        }
+        if (oldKeys != null) {
+            int j = find(oldKeys, oldHashes, oldShift, key, h);
+            if (j >= 0) {
+                return oldValues[j];
+            }
+        }
+        return null;
+    }
+
+    // Checks if the hash table contains a key
+    public boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    // Removes a key-value pair from the hash table
+    public V remove(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        int h = hash(key);
+        V value = null;
+        int i = find(keys, hashes, shift, key, h);
+        if (i >= 0) {
+            value = values[i];
+            deleteSlot(keys, values, hashes, shift, i);
+            size--;
+        } else if (oldKeys != null) {
+            int j = find(oldKeys, oldHashes, oldShift, key, h);
+            if (j >= 0) {
+                value = oldValues[j];
+                deleteSlot(oldKeys, oldValues, oldHashes, oldShift, j);
+                size--;
+            }
+        }
+
+        if (oldKeys != null) migrateStep();
+        return value;
+    }
+
+    // Size of the hash table
+    public int size() {
+        return size;
+    }
+
+    // Removes all key-value pairs
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        oldKeys = null;
+        oldValues = null;
+        oldHashes = null;
+        size = 0;
+    }
+
+    // Empties slot i and shifts later entries of the same cluster back (no tombstones)
+    private static void deleteSlot(String[] ks, Object[] vs, int[] hs, int sh, int i) {
+        int mask = ks.length - 1;
+        int j = i;
+
+        while (true) {
+            j = (j + 1) & mask;
+            if (ks[j] == null) {
+                break;
+            }
+
+            // Entry at j may move into the hole at i only if its home slot is not in (i, j]
+            int home = hs[j] >>> sh;
+            boolean stays = (i <= j) ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                ks[i] = ks[j];
+                vs[i] = vs[j];
+                hs[i] = hs[j];
+                i = j;
+            }
+        }
+
+        ks[i] = null;
+        vs[i] = null;
+    }
+
+    // Stores an entry that is known to be absent from the current table
+    private void insertNew(String key, V value, int h) {
+        int mask = capacity - 1;
+        int i = h >>> shift;
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = h;
+    }
+
+    // Doubles the table when load factor is exceeded
+    private void resize() {
+        // A previous migration must be done before the table can move again
+        if (oldKeys != null) {
+            finishMigration();
+        }
+
+        String[] prevKeys = keys;
+        V[] prevValues = values;
+        int[] prevHashes = hashes;
+        int prevShift = shift;
+
+        allocate(capacity * 2);
+
+        if (incrementalResize) {
+            oldKeys = prevKeys;
+            oldValues = prevValues;
+            oldHashes = prevHashes;
+            oldShift = prevShift;
+
+            // Starts on an empty slot so that migration always moves whole clusters
+            int start = 0;
+            while (oldKeys[start] != null) {
+                start++;
+            }
+            migrateIndex = start;
+            migrateRemaining = oldKeys.length;
+            return;
+        }
+
+        // Rehash all elements with their cached hashes (keys are known to be distinct)
+        for (int j = 0; j < prevKeys.length; j++) {
+            if (prevKeys[j] != null) {
+                insertNew(prevKeys[j], prevValues[j], prevHashes[j]);
+            }
+        }
+    }
+
+    // Moves at least MIGRATION_STEP old slots, stopping only between clusters.
+    // Unmoved clusters are left intact, so lookups in the old table stay correct.
+    private void migrateStep() {
+        int budget = MIGRATION_STEP;
+        int mask = oldKeys.length - 1;
+
+        while (migrateRemaining > 0 && (budget > 0 || oldKeys[migrateIndex] != null)) {
+            String k = oldKeys[migrateIndex];
+            if (k != null) {
+                insertNew(k, oldValues[migrateIndex], oldHashes[migrateIndex]);
+                oldKeys[migrateIndex] = null;
+                oldValues[migrateIndex] = null;
+            }
+            migrateIndex = (migrateIndex + 1) & mask;
+            migrateRemaining--;
+            budget--;
+        }
+
+        if (migrateRemaining == 0) {
+            oldKeys = null;
+            oldValues = null;
+            oldHashes = null;
+        }
+    }
+
+    // Moves every remaining old slot
+    private void finishMigration() {
+        int mask = oldKeys.length - 1;
+        while (migrateRemaining > 0) {
+            if (oldKeys[migrateIndex] != null) {
+                insertNew(oldKeys[migrateIndex], oldValues[migrateIndex], oldHashes[migrateIndex]);
+            }
+            migrateIndex = (migrateIndex + 1) & mask;
+            migrateRemaining--;
+        }
+        oldKeys = null;
+        oldValues = null;
+        oldHashes = null;
+    }
+
+    // Returns an array of all values
+    public Object[] values() {
+        Object[] result = new Object[size];
+        int index = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != null) {
+                result[index++] = values[i];
+            }
+        }
+        if (oldKeys != null) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    result[index++] = oldValues[i];
+                }
+            }
+        }
+
+        return result;
+    }
+
+}
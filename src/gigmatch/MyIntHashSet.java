@@ -0,0 +1,151 @@
+package gigmatch;
+
+/**
+ * Set of non-negative int keys (interned handles).
+ *
+ * Open addressing with linear probing like MyIntHashTable, without the values array.
+ * Keys are stored as key + 1 so that 0 marks an empty slot.
+ */
+public class MyIntHashSet {
+
+    // DATA FIELDS
+    private static final int DEFAULT_CAPACITY = 8; // Must be a power of two
+    private static final int GOLDEN_RATIO = 0x9E3779B9; // Multiplier for Fibonacci hashing
+
+    private int[] keys; // key + 1, 0 marks an empty slot
+    private int size;
+    private int shift; // 32 - log2(keys.length)
+
+    // CONSTRUCTORS
+    // Default constructor
+    public MyIntHashSet() {
+        this.keys = new int[DEFAULT_CAPACITY];
+        this.shift = 32 - Integer.numberOfTrailingZeros(DEFAULT_CAPACITY);
+        this.size = 0;
+    }
+
+    // ---HELPER METHODS
+    // Home slot of a key
+    private int indexFor(int key) {
+        return (key * GOLDEN_RATIO) >>> shift;
+    }
+
+    // Finds the slot holding the key, or -1
+    private int find(int key) {
+        int stored = key + 1;
+        int mask = keys.length - 1;
+        int i = indexFor(key);
+
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == stored) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // ---METHODS---
+    // Adds a key, returns false if it was already present
+    public boolean add(int key) {
+        if (key < 0) {
+            return false;
+        }
+
+        int stored = key + 1;
+        int mask = keys.length - 1;
+        int i = indexFor(key);
+
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == stored) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = stored;
+        size++;
+
+        // Checks if resize is needed (load factor 0.5)
+        if (size >= keys.length >>> 1) {
+            resize();
+        }
+        return true;
+    }
+
+    // Checks if the set contains a key
+    public boolean contains(int key) {
+        return key >= 0 && find(key) >= 0;
+    }
+
+    // Removes a key, returns false if it was not present
+    public boolean remove(int key) {
+        if (key < 0) {
+            return false;
+        }
+
+        int i = find(key);
+        if (i < 0) {
+            return false;
+        }
+
+        int mask = keys.length - 1;
+        int j = i;
+
+        // Backward-shift deletion
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == 0) {
+                break;
+            }
+            int home = indexFor(keys[j] - 1);
+            boolean stays = (i <= j) ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                keys[i] = keys[j];
+                i = j;
+            }
+        }
+        keys[i] = 0;
+
+        size--;
+        return true;
+    }
+
+    // Size of the set
+    public int size() {
+        return size;
+    }
+
+    // Copies the keys into a new array (unordered)
+    public int[] toArray() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int stored : keys) {
+            if (stored != 0) {
+                result[index++] = stored - 1;
+            }
+        }
+        return result;
+    }
+
+    // Doubles the table when load factor is exceeded
+    private void resize() {
+        int[] oldKeys = keys;
+        keys = new int[oldKeys.length * 2];
+        shift--;
+        int mask = keys.length - 1;
+
+        for (int stored : oldKeys) {
+            if (stored == 0) continue;
+
+            int i = indexFor(stored - 1);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = stored;
+        }
+    }
+
+}
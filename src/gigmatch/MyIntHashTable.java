@@ -0,0 +1,189 @@
+package gigmatch;
+
+import java.util.Arrays;
+
+/**
+ * MyHashTable for non-negative int keys (interned handles).
+ *
+ * Same layout as MyHashTable: open addressing with linear probing, a power-of-two
+ * capacity and backward-shift deletion. Keys are stored as key + 1 so that 0 marks
+ * an empty slot.
+ */
+public class MyIntHashTable<V> {
+
+    // DATA FIELDS
+    private static final int DEFAULT_CAPACITY = 16; // Must be a power of two
+    private static final int GOLDEN_RATIO = 0x9E3779B9; // Multiplier for Fibonacci hashing
+
+    private int[] keys; // key + 1, 0 marks an empty slot
+    private V[] values;
+
+    private int size;
+    private int capacity; // Always a power of two
+    private int shift; // 32 - log2(capacity)
+
+    // CONSTRUCTORS
+    // Default constructor
+    public MyIntHashTable() {
+        allocate(DEFAULT_CAPACITY);
+        this.size = 0;
+    }
+
+    // ---HELPER METHODS
+    // Home slot of a key
+    private int indexFor(int key) {
+        return (key * GOLDEN_RATIO) >>> shift;
+    }
+
+    // Finds the slot holding the key, or -1
+    private int find(int key) {
+        int stored = key + 1;
+        int mask = capacity - 1;
+        int i = indexFor(key);
+
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == stored) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Allocates empty arrays for the given capacity
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.shift = 32 - Integer.numberOfTrailingZeros(newCapacity);
+        this.keys = new int[newCapacity];
+        this.values = (V[]) new Object[newCapacity];
+    }
+
+    // ---METHODS---
+    // Puts a key-value pair into the hash table
+    public void put(int key, V value) {
+        if (key < 0) {
+            return;
+        }
+
+        int stored = key + 1;
+        int mask = capacity - 1;
+        int i = indexFor(key);
+
+        // Checks if key already exists and updates value
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == stored) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = stored;
+        values[i] = value;
+        size++;
+
+        // Checks if resize is needed (load factor 0.5)
+        if (size >= capacity >>> 1) {
+            resize();
+        }
+    }
+
+    // Gets the value associated with a key
+    public V get(int key) {
+        if (key < 0) {
+            return null;
+        }
+        int i = find(key);
+        return (i < 0) ? null : values[i];
+    }
+
+    // Checks if the hash table contains a key
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    // Removes a key-value pair from the hash table
+    public V remove(int key) {
+        if (key < 0) {
+            return null;
+        }
+
+        int i = find(key);
+        if (i < 0) {
+            return null;
+        }
+
+        V value = values[i];
+        int mask = capacity - 1;
+        int j = i;
+
+        // Backward-shift deletion
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == 0) {
+                break;
+            }
+            int home = indexFor(keys[j] - 1);
+            boolean stays = (i <= j) ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = 0;
+        values[i] = null;
+
+        size--;
+        return value;
+    }
+
+    // Size of the hash table
+    public int size() {
+        return size;
+    }
+
+    // Removes all key-value pairs
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Doubles the table when load factor is exceeded
+    private void resize() {
+        int[] oldKeys = keys;
+        V[] oldValues = values;
+
+        allocate(capacity * 2);
+        int mask = capacity - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+
+            int i = indexFor(oldKeys[j] - 1);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    // Returns an array of all values
+    public Object[] values() {
+        Object[] result = new Object[size];
+        int index = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            if (keys[i] != 0) {
+                result[index++] = values[i];
+            }
+        }
+
+        return result;
+    }
+
+}
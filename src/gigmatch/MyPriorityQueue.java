@@ -0,0 +1,287 @@
+package gigmatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+public class MyPriorityQueue<E extends HeapIndexed> {
+
+    // DATA FIELDS
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] heap; // Array-based heap, each element knows its own index
+    private int size;
+    private Comparator<? super E> comparator; // null means natural ordering
+
+    // CONSTRUCTORS
+    // Default constructor (elements must be Comparable)
+    public MyPriorityQueue() {
+        this(null);
+    }
+
+    // Orders elements with the given comparator, smallest first
+    public MyPriorityQueue(Comparator<? super E> comparator) {
+        this.heap = new Object[DEFAULT_CAPACITY];
+        this.size = 0;
+        this.comparator = comparator;
+    }
+
+    // ---METHODS---
+    // Returns true if the priority queue has no elements
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Number of elements
+    public int size() {
+        return size;
+    }
+
+    // Adds a new element
+    public boolean add(E e) {
+        if (e == null) {
+            throw new NullPointerException("MyPriorityQueue does not permit null elements.");
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        percUp(size++, e); // Keeps heap property valid
+        return true;
+    }
+
+    // Removes and returns the root
+    public E poll() {
+        if (size == 0) return null;
+
+        E root = elementAt(0); // Stores the root
+        root.setHeapIndex(-1);
+
+        // Moves last element to root and keeps heap property valid
+        E last = elementAt(--size);
+        heap[size] = null;
+        if (size > 0) {
+            percDown(0, last);
+        }
+
+        return root;
+    }
+
+    // Removes an element from the heap using its stored index
+    public boolean remove(E e) {
+        if (e == null) {
+            return false;
+        }
+
+        int index = e.getHeapIndex();
+        if (index < 0 || index >= size || heap[index] != e) {
+            return false; // Not in this queue
+        }
+        e.setHeapIndex(-1);
+
+        // Replaces removed with last and keeps heap property valid
+        E last = elementAt(--size);
+        heap[size] = null;
+        if (index != size) {
+            percDown(index, last);
+            if (heap[index] == last) {
+                percUp(index, last);
+            }
+        }
+        return true;
+    }
+
+    // Bulk updates: addUnordered/removeUnordered change the contents without restoring
+    // heap order, then a single heapify() restores it. No other call may come in between.
+    // Appends an element at the end of the heap array
+    public void addUnordered(E e) {
+        if (e == null) {
+            throw new NullPointerException("MyPriorityQueue does not permit null elements.");
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        place(size++, e);
+    }
+
+    // Moves the last element into the removed element's slot
+    public boolean removeUnordered(E e) {
+        if (e == null) {
+            return false;
+        }
+
+        int index = e.getHeapIndex();
+        if (index < 0 || index >= size || heap[index] != e) {
+            return false; // Not in this queue
+        }
+        e.setHeapIndex(-1);
+
+        E last = elementAt(--size);
+        heap[size] = null;
+        if (index != size) {
+            place(index, last);
+        }
+        return true;
+    }
+
+    // Restores heap order bottom-up (Floyd), O(n) after any number of unordered
+    // changes or in-place key updates
+    public void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            percDown(i, elementAt(i));
+        }
+    }
+
+    // Collects up to k elements accepted by the filter into out, best first, without modifying the heap.
+    // A frontier heap of slot indices walks the tree best-first: a slot's children only become
+    // candidates after the slot itself is taken. Costs O(m log m) for m inspected elements.
+    public int topK(int k, Predicate<? super E> filter, ArrayList<? super E> out) {
+        int before = out.size();
+        topK(k, Integer.MAX_VALUE, filter, out);
+        return out.size() - before;
+    }
+
+    // Same walk, inspecting at most budget elements. Returns true if the budget ran out
+    // before k elements were found and the heap still had unvisited candidates.
+    public boolean topK(int k, int budget, Predicate<? super E> filter, ArrayList<? super E> out) {
+        if (k <= 0 || size == 0) {
+            return false;
+        }
+
+        int[] frontier = new int[16]; // Binary heap of slot indices, ordered by their elements
+        int frontierSize = 1;
+        frontier[0] = 0; // Starts from the root
+
+        int found = 0;
+        int inspected = 0;
+        while (frontierSize > 0 && found < k) {
+            if (inspected == budget) {
+                return true;
+            }
+            inspected++;
+
+            // Takes the best candidate off the frontier
+            int slot = frontier[0];
+            frontierSize--;
+            if (frontierSize > 0) {
+                siftDownSlot(frontier, frontierSize, frontier[frontierSize]);
+            }
+
+            E e = elementAt(slot);
+            if (filter.test(e)) {
+                out.add(e);
+                found++;
+            }
+
+            // Its children are the next candidates under this subtree
+            if (frontierSize + 2 > frontier.length) {
+                frontier = Arrays.copyOf(frontier, frontier.length * 2);
+            }
+            int left = 2 * slot + 1;
+            if (left < size) {
+                siftUpSlot(frontier, frontierSize++, left);
+                if (left + 1 < size) {
+                    siftUpSlot(frontier, frontierSize++, left + 1);
+                }
+            }
+        }
+        return false;
+    }
+
+    // ---HELPER METHODS---
+    // Frontier heap helpers for topK, slots are ordered by the elements they hold
+    private void siftUpSlot(int[] frontier, int i, int slot) {
+        E e = elementAt(slot);
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (compare(e, elementAt(frontier[parent])) >= 0) {
+                break;
+            }
+            frontier[i] = frontier[parent];
+            i = parent;
+        }
+        frontier[i] = slot;
+    }
+    private void siftDownSlot(int[] frontier, int n, int slot) {
+        E e = elementAt(slot);
+        int i = 0;
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && compare(elementAt(frontier[right]), elementAt(frontier[child])) < 0) {
+                child = right;
+            }
+            if (compare(e, elementAt(frontier[child])) <= 0) {
+                break;
+            }
+            frontier[i] = frontier[child];
+            i = child;
+        }
+        frontier[i] = slot;
+    }
+
+    // Element in slot i of the heap array (0 <= i < size)
+    E get(int i) {
+        return elementAt(i);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int i) {
+        return (E) heap[i];
+    }
+
+    // Places e at slot i (and records the slot in e)
+    private void place(int i, E e) {
+        heap[i] = e;
+        e.setHeapIndex(i);
+    }
+
+    // Helps to keep heap property valid by percolating up from slot i with element e.
+    // Parents move down into the hole instead of swapping, e is placed once.
+    private void percUp(int i, E e) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            E parentVal = elementAt(parent);
+
+            if (compare(e, parentVal) >= 0) {
+                break;
+            }
+            place(i, parentVal);
+            i = parent;
+        }
+        place(i, e);
+    }
+
+    // Helps to keep heap property valid by percolating down from slot i with element e
+    private void percDown(int i, E e) {
+        int half = size >>> 1; // Slots below this have at least one child
+        while (i < half) {
+            int child = 2 * i + 1;
+            E childVal = elementAt(child);
+
+            int right = child + 1;
+            if (right < size && compare(elementAt(right), childVal) < 0) {
+                child = right;
+                childVal = elementAt(right);
+            }
+            if (compare(e, childVal) <= 0) {
+                break;
+            }
+            place(i, childVal);
+            i = child;
+        }
+        place(i, e);
+    }
+
+    // Compares two elements
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        if (comparator != null) {
+            return comparator.compare(a, b);
+        }
+        return ((Comparable<? super E>) a).compareTo(b);
+    }
+
+}
@@ -0,0 +1,192 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Growable byte buffer that command results are encoded into.
+ *
+ * ASCII text, ints and one-decimal ratings are written as bytes directly, other text is
+ * encoded with the sink's charset (the default charset for files, like FileWriter). A sink
+ * with a channel writes its bytes out at line ends once FLUSH_SIZE bytes are buffered, so
+ * a command's output is never split by a flush and can be rolled back until endLine().
+ * A sink without a channel keeps everything until drain() (UTF-8 unless told otherwise).
+ */
+public final class OutputSink {
+
+    // DATA FIELDS
+    private static final int FLUSH_SIZE = 1 << 20; // Buffered bytes that trigger a write at a line end
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final double TIE_MARGIN = 1e-6; // Tenths this close to x.x5 are formatted by String.format
+
+    private final WritableByteChannel channel; // null keeps the bytes in memory
+    private final Charset charset;
+    private final boolean utf8;
+
+    private byte[] buf;
+    private int size; // Bytes in buf
+    private long written; // Bytes handed to the channel
+
+    // CONSTRUCTORS
+    // In-memory sink (UTF-8)
+    public OutputSink() {
+        this(null, StandardCharsets.UTF_8);
+    }
+
+    // Sink writing to a channel in the default charset
+    public OutputSink(WritableByteChannel channel) {
+        this(channel, Charset.defaultCharset());
+    }
+
+    public OutputSink(WritableByteChannel channel, Charset charset) {
+        this.channel = channel;
+        this.charset = charset;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.buf = new byte[channel == null ? 256 : FLUSH_SIZE + (FLUSH_SIZE >>> 2)];
+        this.size = 0;
+        this.written = 0;
+    }
+
+    // GETTERS
+    public boolean isUtf8() {return utf8;}
+    public long getWritten() {return written;}
+
+    // ---METHODS---
+    // Appends text (bytes as they are for ASCII), null as "null" like StringBuilder
+    public OutputSink append(String s) {
+        if (s == null) {
+            s = "null";
+        }
+        int length = s.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return appendBytes(s.substring(i).getBytes(charset));
+            }
+            buf[size++] = (byte) c;
+        }
+        return this;
+    }
+
+    // Appends an ASCII character
+    public OutputSink append(char c) {
+        ensure(1);
+        buf[size++] = (byte) c;
+        return this;
+    }
+
+    // Appends raw bytes that are already in the sink's charset
+    public OutputSink append(byte[] bytes, int off, int len) {
+        ensure(len);
+        System.arraycopy(bytes, off, buf, size, len);
+        size += len;
+        return this;
+    }
+
+    // Appends an int in decimal
+    public OutputSink append(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return append(Integer.toString(value));
+        }
+        ensure(11);
+        if (value < 0) {
+            buf[size++] = '-';
+            value = -value;
+        }
+
+        // Digits are written backwards, then the slot is filled from the end
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int at = size + digits;
+        do {
+            buf[--at] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        size += digits;
+        return this;
+    }
+
+    // Appends a value with one decimal, the same text as String.format(Locale.US, "%.1f", value).
+    // Away from a tie the digits follow from the scaled value; near x.x5 (and for unusual
+    // values) the rounding depends on the decimal expansion, so Formatter decides.
+    public OutputSink appendOneDecimal(double value) {
+        if (value >= 0 && value < 1e9) {
+            double scaled = value * 10;
+            long floor = (long) scaled;
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > TIE_MARGIN) {
+                long tenths = fraction > 0.5 ? floor + 1 : floor;
+                append((int) (tenths / 10));
+                ensure(2);
+                buf[size++] = '.';
+                buf[size++] = (byte) ('0' + tenths % 10);
+                return this;
+            }
+        }
+        return append(String.format(Locale.US, "%.1f", value));
+    }
+
+    // Ends a command's output; writes the buffer out once it is large enough
+    public void endLine() throws IOException {
+        append(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+        if (channel != null && size >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    // Position to roll back to (valid until the next endLine)
+    public int mark() {
+        return size;
+    }
+
+    // Drops everything appended after the mark
+    public void rollback(int mark) {
+        size = mark;
+    }
+
+    // Writes all buffered bytes to the channel
+    public void flush() throws IOException {
+        if (channel == null || size == 0) {
+            return;
+        }
+        drainTo(channel);
+    }
+
+    // Writes all buffered bytes to the given channel and empties the sink (a sink without a
+    // channel that one thread fills and another writes out, see PlatformServer)
+    public void drainTo(WritableByteChannel target) throws IOException {
+        ByteBuffer out = ByteBuffer.wrap(buf, 0, size);
+        while (out.hasRemaining()) {
+            target.write(out);
+        }
+        written += size;
+        size = 0;
+    }
+
+    // Returns the buffered text and empties the sink
+    public String drain() {
+        String s = new String(buf, 0, size, charset);
+        size = 0;
+        return s;
+    }
+
+    // ---HELPER METHODS---
+    private OutputSink appendBytes(byte[] bytes) {
+        return append(bytes, 0, bytes.length);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+        }
+    }
+
+}
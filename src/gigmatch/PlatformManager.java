@@ -0,0 +1,1315 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+public class PlatformManager {
+
+    // DATA FIELDS
+    private IdDictionary ids; // Interns customer and freelancer IDs into handles
+    // Records by handle, paged like the FreelancerStore columns: handle h is at
+    // [h >>> PAGE_SHIFT][h & PAGE_MASK], so growing never copies more than one page
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private Customer[][] customers; // Customer of each handle (null for freelancers)
+    private Freelancer[][] freelancers; // Freelancer of each handle (null for customers)
+    private int recordCapacity; // Handles the pages hold
+    private FreelancerStore freelancerStore; // Columns behind every Freelancer view
+
+    private EmploymentLedger ledger; // History of finished employments, null to keep none
+    private int month; // Months simulated so far, stored with each finished employment
+
+    private WriteAheadLog wal; // Log of every mutation, null to log nothing
+    private long mutationCount; // Successful mutations so far, numbers the log records
+
+    private MyIntHashTable<Customer> pendingLoyaltyUpdates; // Stores customers who need loyalty tier update
+    private MyPriorityQueue<Freelancer>[] freelancerPQByService; // PQ of available, unbanned freelancers for each service type
+
+    // Freelancers whose monthly update is not a no-op, so simulateMonth skips idle ones
+    private int[] monthlyWork; // Freelancer handles, each listed at most once
+    private int monthlyWorkCount;
+    private int[] spareMonthlyWork; // Swapped in while simulateMonth walks the current list
+
+    // Months with at least this much work (and a sixteenth of all users) update in parallel
+    // and rebuild the heaps instead of refreshing freelancers one by one
+    private static final int BULK_MONTH_THRESHOLD = 8192;
+    private static final int MONTH_TASK_SIZE = 4096; // Freelancers per fork-join leaf task
+
+    // Bounds the heap walk of requestJob when the customer blacklisted many top freelancers
+    private int requestScanBudget; // Freelancers inspected per request, Integer.MAX_VALUE for no bound
+    private long scanBudgetHits; // Requests cut short by the budget
+
+    // Where checkpoint may write: any path in file mode; for server clients only a bare file
+    // name inside the operator's directory, or nothing without one
+    private boolean checkpointsConfined;
+    private Path checkpointDir; // null refuses every confined checkpoint
+
+    private final OutputSink scratch; // Output of the String versions of the commands
+
+    // Guards the platform-wide counters and lists above (mutation count, monthly worklist,
+    // pending loyalty updates, ledger) when commands run concurrently (see ConcurrentPlatform)
+    private final Object bookkeeping = new Object();
+
+    private static final String[] LOYALTY_TIERS = {"BRONZE", "SILVER", "GOLD", "PLATINUM"}; // Snapshot codes
+
+    // CONSTRUCTORS
+    // Default Constructor
+    public PlatformManager() {
+        ids = new IdDictionary();
+        customers = new Customer[1][];
+        freelancers = new Freelancer[1][];
+        recordCapacity = 0;
+        ensureCapacity(15);
+        freelancerStore = new FreelancerStore();
+
+        ledger = null;
+        month = 0;
+
+        pendingLoyaltyUpdates = new MyIntHashTable<>();
+
+        monthlyWork = new int[16];
+        monthlyWorkCount = 0;
+        spareMonthlyWork = new int[16];
+
+        requestScanBudget = Integer.MAX_VALUE;
+        scanBudgetHits = 0;
+
+        scratch = new OutputSink();
+
+        MyPriorityQueue<Freelancer>[] temp = new MyPriorityQueue[CompositeScorer.serviceCount()];
+        freelancerPQByService = temp;
+        // One priority queue for each service type
+        for (int i = 0; i < CompositeScorer.serviceCount(); i++) {
+            freelancerPQByService[i] = new MyPriorityQueue<>(this::compareFreelancers);
+        }
+    }
+
+    // ---METHODS---
+    // Resolves an external ID to its handle, -1 if no user has it
+    public int lookupId(String id) {
+        return ids.lookup(id);
+    }
+
+    // Dictionary of all registered IDs
+    public IdDictionary getIds() {
+        return ids;
+    }
+
+    // Sets how many freelancers requestJob may inspect, values <= 0 remove the bound
+    public void setRequestScanBudget(int budget) {
+        requestScanBudget = budget > 0 ? budget : Integer.MAX_VALUE;
+    }
+
+    public int getRequestScanBudget() {
+        return requestScanBudget;
+    }
+
+    // Number of requestJob calls that stopped at the scan budget
+    public long getScanBudgetHits() {
+        return scanBudgetHits;
+    }
+
+    // checkpoint FILE only writes dir/FILE from now on, FILE being a bare file name, and is
+    // refused when dir is null
+    public void confineCheckpoints(Path dir) {
+        checkpointsConfined = true;
+        checkpointDir = dir;
+    }
+
+    // Finished employments are appended to the ledger from now on (null stops recording)
+    public void setLedger(EmploymentLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    public EmploymentLedger getLedger() {
+        return ledger;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    // Every successful mutation is logged to wal from now on (null stops logging)
+    public void setWriteAheadLog(WriteAheadLog wal) {
+        this.wal = wal;
+    }
+
+    public WriteAheadLog getWriteAheadLog() {
+        return wal;
+    }
+
+    // Number of successful mutations since the platform was created (kept in snapshots)
+    public long getMutationCount() {
+        return mutationCount;
+    }
+
+    // Every command appends its result to an OutputSink; the String versions return the same
+    // text (in memory, through scratch)
+
+    // 1) Customer registration
+    public String registerCustomer(String customerID) {
+        registerCustomer(customerID, scratch);
+        return scratch.drain();
+    }
+
+    public void registerCustomer(String customerID, OutputSink out) {
+        // Validation
+        if (customerID == null || customerID.trim().isEmpty()
+                               || ids.lookup(customerID) >= 0) {
+            out.append("Some error occurred in register_customer.");
+            return;
+        }
+
+        // Creates and stores new customer
+        int handle = ids.intern(customerID);
+        ensureCapacity(handle);
+        setCustomer(handle, new Customer(handle));
+        WriteAheadLog log = logMutation(CommandBatch.REGISTER_CUSTOMER);
+        if (log != null) log.id(customerID).end();
+
+        out.append("registered customer ").append(customerID);
+    }
+
+    // 2) Freelancer registration
+    public String registerFreelancer(String freelancerID, String serviceType, int servicePrice,
+                                     int T, int C, int R, int E, int A) {
+        registerFreelancer(freelancerID, serviceType, servicePrice, T, C, R, E, A, scratch);
+        return scratch.drain();
+    }
+
+    public void registerFreelancer(String freelancerID, String serviceType, int servicePrice,
+                                   int T, int C, int R, int E, int A, OutputSink out) {
+        // Validation
+        if (freelancerID == null || freelancerID.trim().isEmpty()
+                                 || !isValidService(serviceType)
+                                 || servicePrice <= 0
+                                 || !validSkill(T, C, R, E, A)
+                                 || ids.lookup(freelancerID) >= 0) {
+            out.append("Some error occurred in register_freelancer.");
+            return;
+        }
+
+        // Creates and stores new freelancer
+        int handle = ids.intern(freelancerID);
+        ensureCapacity(handle);
+        Freelancer freelancer = freelancerStore.add(handle, serviceType, servicePrice, T, C, R, E, A);
+        setFreelancer(handle, freelancer);
+
+        // Adds freelancer to the service's priority queue
+        addFreelancerToPQ(freelancer);
+        WriteAheadLog log = logMutation(CommandBatch.REGISTER_FREELANCER);
+        if (log != null) {
+            log.id(freelancerID).handle(freelancer.getServiceIndex()).value(servicePrice)
+                    .value(T).value(C).value(R).value(E).value(A).end();
+        }
+
+        out.append("registered freelancer ").append(freelancerID);
+    }
+
+    // 3) Employing a specific freelancer
+    public String employ(int customerHandle, int freelancerHandle) {
+        employ(customerHandle, freelancerHandle, scratch);
+        return scratch.drain();
+    }
+
+    public void employ(int customerHandle, int freelancerHandle, OutputSink out) {
+        Customer customer = customerAt(customerHandle);
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+
+        // Validation
+        if (customer == null || freelancer == null
+                || freelancer.isPlatformBanned()
+                || customer.isInBlacklist(freelancerHandle)
+                || !freelancer.isAvailable()) {
+            out.append("Some error occurred in employ.");
+            return;
+        }
+
+        // Marks freelancer as employed
+        if (!freelancer.employ(customerHandle)) {
+            out.append("Some error occurred in employ.");
+            return;
+        }
+        customer.startEmployment(freelancerHandle);
+        removeFreelancerFromPQ(freelancer); // Employed freelancers are not ranked
+
+        // Creates an employment and stores
+        Employment employment = new Employment(customer, freelancer);
+        freelancer.setActiveEmployment(employment); // A freelancer has at most one
+        WriteAheadLog log = logMutation(CommandBatch.EMPLOY_FREELANCER);
+        if (log != null) log.handle(customerHandle).handle(freelancerHandle).end();
+
+        ids.appendName(out, customerHandle);
+        out.append(" employed ");
+        ids.appendName(out, freelancerHandle);
+        out.append(" for ").append(freelancer.getServiceType());
+    }
+
+    // 4) Requesting a job
+    public String requestJob(int customerHandle, String serviceType, int k) {
+        requestJob(customerHandle, serviceType, k, scratch);
+        return scratch.drain();
+    }
+
+    public void requestJob(int customerHandle, String serviceType, int k, OutputSink out) {
+        requestAndEmploy(customerHandle, serviceType, k, out);
+    }
+
+    // Runs requestJob and returns the handle of the auto-employed freelancer, -1 if there is none
+    int requestAndEmploy(int customerHandle, String serviceType, int k, OutputSink out) {
+
+        Customer customer = customerAt(customerHandle);
+        // Validation
+        if (customer == null || k <= 0 || !isValidService(serviceType)) {
+            out.append("Some error occurred in request_job.");
+            return -1;
+        }
+
+        int serviceindex = getServiceIndex(serviceType);
+        if (serviceindex == -1) {
+            out.append("Some error occurred in request_job.");
+            return -1;
+        }
+
+        // Gets the PQ for this service
+        MyPriorityQueue<Freelancer> pq = freelancerPQByService[serviceindex];
+        if (pq == null || pq.isEmpty()) {
+            out.append("no freelancers available");
+            return -1;
+        }
+
+        // Available top-k freelancers, read from the heap without polling
+        ArrayList<Freelancer> chosen = new ArrayList<>();
+        // PQ only holds available ones; with a budget the result may be shorter than k
+        if (pq.topK(k, requestScanBudget, f -> !customer.isInBlacklist(f.getHandle()), chosen)) {
+            synchronized (bookkeeping) {
+                scanBudgetHits++;
+            }
+        }
+
+        // NO available
+        if (chosen.isEmpty()) {
+            out.append("no freelancers available");
+            return -1;
+        }
+
+        int bestCount = chosen.size();
+
+        // Builds output
+        int mark = out.mark();
+        out.append("available freelancers for ")
+                .append(serviceType)
+                .append(" (top ").append(bestCount).append("):\n");
+
+        for (int i = 0; i < bestCount; i++) {
+            Freelancer f = chosen.get(i);
+            int score = f.getCompositeScore(); // Kept up to date by every refresh of the PQ
+
+            ids.appendName(out, f.getHandle());
+            out.append(" - composite: ").append(score)
+                    .append(", price: ").append(f.getServicePrice())
+                    .append(", rating: ").appendOneDecimal(f.getAverageRating());
+
+            if (i < bestCount - 1) {
+                out.append('\n');
+            }
+        }
+
+        // Auto-employs the best one
+        Freelancer best = chosen.get(0);
+
+        if (!best.employ(customerHandle)) {
+            out.rollback(mark);
+            out.append("Some error occurred in request_job.");
+            return -1;
+        }
+
+        // Update customer and employment
+        customer.startEmployment(best.getHandle());
+        removeFreelancerFromPQ(best);
+        Employment employment = new Employment(customer, best);
+        best.setActiveEmployment(employment);
+        WriteAheadLog log = logMutation(CommandBatch.EMPLOY_FREELANCER); // Replays as a direct employ
+        if (log != null) log.handle(customerHandle).handle(best.getHandle()).end();
+
+        out.append("\nauto-employed best freelancer: ");
+        ids.appendName(out, best.getHandle());
+        out.append(" for customer ");
+        ids.appendName(out, customerHandle);
+        return best.getHandle();
+    }
+
+    // 5.1) Customer-Initiated Cancellation
+    public String cancelByCustomer(int customerHandle, int freelancerHandle) {
+        cancelByCustomer(customerHandle, freelancerHandle, scratch);
+        return scratch.drain();
+    }
+
+    public void cancelByCustomer(int customerHandle, int freelancerHandle, OutputSink out) {
+        // Gets customer and freelancer
+        Customer customer = customerAt(customerHandle);
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+
+        // Validations
+        if (customer == null || freelancer == null) {
+            out.append("Some error occurred in cancel_by_customer.");
+            return;
+        }
+        int employerHandle = freelancer.getEmployerHandle();
+        if (employerHandle < 0 || employerHandle != customerHandle) {
+            out.append("Some error occurred in cancel_by_customer.");
+            return;
+        }
+        Employment emp = freelancer.getActiveEmployment();
+        if (emp == null || !emp.getIsActive()) {
+            out.append("Some error occurred in cancel_by_customer.");
+            return;
+        }
+
+        // Applies employment cancellation
+        emp.cancelByCustomer();
+        recordJob(customerHandle, freelancer, EmploymentLedger.CANCELLED_BY_CUSTOMER, EmploymentLedger.NO_RATING);
+
+        // Updates freelancer position in PQ
+        refreshFreelancerInPQ(freelancer);
+
+        // Updates customer cancellation count and marks customer for simulateMonth
+        customer.setCustomerCancellationCount(customer.getCustomerCancellationCount() + 1);
+        markLoyaltyUpdate(customer);
+        WriteAheadLog log = logMutation(CommandBatch.CANCEL_BY_CUSTOMER);
+        if (log != null) log.handle(customerHandle).handle(freelancerHandle).end();
+
+        out.append("cancelled by customer: ");
+        ids.appendName(out, customerHandle);
+        out.append(" cancelled ");
+        ids.appendName(out, freelancerHandle);
+    }
+
+    // 5.2) Freelancer-Initiated Cancellation
+    public String cancelByFreelancer(int freelancerHandle) {
+        cancelByFreelancer(freelancerHandle, scratch);
+        return scratch.drain();
+    }
+
+    public void cancelByFreelancer(int freelancerHandle, OutputSink out) {
+        // Gets freelancer
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+        // Validations
+        if (freelancer == null) {
+            out.append("Some error occurred in cancel_by_freelancer.");
+            return;
+        }
+        int customerHandle = freelancer.getEmployerHandle();
+        if (customerHandle < 0) {
+            out.append("Some error occurred in cancel_by_freelancer.");
+            return;
+        }
+        Employment emp = freelancer.getActiveEmployment();
+        if (emp == null || !emp.getIsActive()) {
+            out.append("Some error occurred in cancel_by_freelancer.");
+            return;
+        }
+
+        // Applies employment cancellation
+        emp.cancelByFreelancer();
+        recordJob(customerHandle, freelancer, EmploymentLedger.CANCELLED_BY_FREELANCER, 0);
+        markMonthlyWork(freelancer); // Monthly cancelled count changed
+
+        out.append("cancelled by freelancer: ");
+        ids.appendName(out, freelancerHandle);
+        out.append(" cancelled ");
+        ids.appendName(out, customerHandle);
+
+        // Checks for platform ban
+        if (freelancer.getMonthlyCancelledJobs() >= 5 && !freelancer.isPlatformBanned()) {
+            freelancer.setPlatformBanned(true);
+            out.append("\nplatform banned freelancer: ");
+            ids.appendName(out, freelancerHandle);
+        }
+
+        // Returns freelancer to PQ unless banned
+        refreshFreelancerInPQ(freelancer);
+        WriteAheadLog log = logMutation(CommandBatch.CANCEL_BY_FREELANCER);
+        if (log != null) log.handle(freelancerHandle).end();
+    }
+
+    // 6) Completing and rating a job
+    public String completeAndRate(int freelancerHandle, int rating) {
+        completeAndRate(freelancerHandle, rating, scratch);
+        return scratch.drain();
+    }
+
+    public void completeAndRate(int freelancerHandle, int rating, OutputSink out) {
+        // Gets freelancer
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+
+        // Validations
+        int customerHandle = freelancer.getEmployerHandle();
+        Customer customer = customerAt(customerHandle);
+        if (freelancer == null || customerHandle < 0 || rating < 0 || rating > 5 || customer == null) {
+            out.append("Some error occurred in complete_and_rate.");
+            return;
+        }
+
+        // Calculates payment with loyalty discount
+        int customerPayment = computeCustomerPayment(customer, freelancer.getServicePrice());
+        customer.pay(customerPayment);
+        markLoyaltyUpdate(customer);
+        // Gets the service's skill gain order
+        int[] gainOrder = CompositeScorer.gainOrder(freelancer.getServiceIndex());
+
+        // Gets active employment
+        Employment emp = freelancer.getActiveEmployment();
+
+        if (emp == null) { // NO employment
+            out.append("Some error occurred in complete_and_rate.");
+            return;
+        }
+
+        // Completes employment
+        emp.complete(rating, gainOrder); // Also clears the freelancer's active employment
+        recordJob(customerHandle, freelancer, EmploymentLedger.COMPLETED, rating);
+
+        // Updates freelancer in PQ
+        refreshFreelancerInPQ(freelancer);
+        markMonthlyWork(freelancer); // Monthly completed count changed
+        WriteAheadLog log = logMutation(CommandBatch.COMPLETE_AND_RATE);
+        if (log != null) log.handle(freelancerHandle).value(rating).end();
+
+        ids.appendName(out, freelancerHandle);
+        out.append(" completed job for ");
+        ids.appendName(out, customerHandle);
+        out.append(" with rating ").append(rating);
+    }
+
+    // 7) Changing service type
+    public String changeService(int freelancerHandle, String newServiceType, int newPrice) {
+        changeService(freelancerHandle, newServiceType, newPrice, scratch);
+        return scratch.drain();
+    }
+
+    public void changeService(int freelancerHandle, String newServiceType, int newPrice, OutputSink out) {
+        // Gets freelancer
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+        // Validation
+        if (freelancer == null || !isValidService(newServiceType) || newPrice <= 0) {
+            out.append("Some error occurred in change_service.");
+            return;
+        }
+
+        String oldService = freelancer.getServiceType(); // Stores old service
+        freelancer.queueServiceChange(newServiceType, newPrice); // Queue service change
+        markMonthlyWork(freelancer);
+        WriteAheadLog log = logMutation(CommandBatch.CHANGE_SERVICE);
+        if (log != null) log.handle(freelancerHandle).handle(getServiceIndex(newServiceType)).value(newPrice).end();
+
+        out.append("service change for ");
+        ids.appendName(out, freelancerHandle);
+        out.append(" queued from ").append(oldService)
+                .append(" to ").append(newServiceType);
+    }
+
+    // 8.1) Query freelancer
+    public String queryFreelancer(int freelancerHandle) {
+        queryFreelancer(freelancerHandle, scratch);
+        return scratch.drain();
+    }
+
+    public void queryFreelancer(int freelancerHandle, OutputSink out) {
+        // Gets freelancer
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+        // Validation
+        if (freelancer == null) {
+            out.append("Some error occurred in query_freelancer.");
+            return;
+        }
+
+        ids.appendName(out, freelancerHandle);
+        freelancer.appendInfo(out); // Calls another method for the rest
+    }
+
+    // 8.2) Query customer
+    public String queryCustomer(int customerHandle) {
+        queryCustomer(customerHandle, scratch);
+        return scratch.drain();
+    }
+
+    public void queryCustomer(int customerHandle, OutputSink out) {
+        //  Gets customer
+        Customer customer = customerAt(customerHandle);
+        // Validation
+        if (customer == null) {
+            out.append("Some error occurred in query_customer.");
+            return;
+        }
+
+        ids.appendName(out, customerHandle);
+        customer.appendInfo(out); // The rest
+    }
+
+    // 9.1) Blacklist a freelancer
+    public String blacklist(int customerHandle, int freelancerHandle) {
+        blacklist(customerHandle, freelancerHandle, scratch);
+        return scratch.drain();
+    }
+
+    public void blacklist(int customerHandle, int freelancerHandle, OutputSink out) {
+        // Gets customer and freelancer
+        Customer customer = customerAt(customerHandle);
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+        // Validation
+        if (customer == null || freelancer == null || customer.isInBlacklist(freelancerHandle)) {
+            out.append("Some error occurred in blacklist.");
+            return;
+        }
+
+        customer.addToBlacklist(freelancerHandle); // Adds customer's blacklist
+        WriteAheadLog log = logMutation(CommandBatch.BLACKLIST);
+        if (log != null) log.handle(customerHandle).handle(freelancerHandle).end();
+        ids.appendName(out, customerHandle);
+        out.append(" blacklisted ");
+        ids.appendName(out, freelancerHandle);
+    }
+
+    // 9.2) Unblacklist a freelancer
+    public String unblacklist(int customerHandle, int freelancerHandle) {
+        unblacklist(customerHandle, freelancerHandle, scratch);
+        return scratch.drain();
+    }
+
+    public void unblacklist(int customerHandle, int freelancerHandle, OutputSink out) {
+        // Get customer and freelancer
+        Customer customer = customerAt(customerHandle);
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+        // Validation
+        if (customer == null || freelancer == null || !customer.isInBlacklist(freelancerHandle)) {
+            out.append("Some error occurred in unblacklist.");
+            return;
+        }
+
+        customer.removeFromBlacklist(freelancerHandle); // Removes freelancer from blacklist
+        WriteAheadLog log = logMutation(CommandBatch.UNBLACKLIST);
+        if (log != null) log.handle(customerHandle).handle(freelancerHandle).end();
+        ids.appendName(out, customerHandle);
+        out.append(" unblacklisted ");
+        ids.appendName(out, freelancerHandle);
+    }
+
+    // 10) Manuel freelancer skill updates
+    public String updateSkill(int freelancerHandle, int T, int C, int R, int E, int A) {
+        updateSkill(freelancerHandle, T, C, R, E, A, scratch);
+        return scratch.drain();
+    }
+
+    public void updateSkill(int freelancerHandle, int T, int C, int R, int E, int A, OutputSink out) {
+        // Gets freelancer
+        Freelancer freelancer = freelancerAt(freelancerHandle);
+        // Validations
+        if (freelancer == null) {
+            out.append("Some error occurred in update_skill.");
+            return;
+        }
+        if (!validSkill(T, C, R, E, A)) {
+            out.append("Some error occurred in update_skill.");
+            return;
+        }
+
+        // Updates every skill
+        freelancer.setT(T);
+        freelancer.setC(C);
+        freelancer.setR(R);
+        freelancer.setE(E);
+        freelancer.setA(A);
+
+        // Updates freelancer in PQ
+        refreshFreelancerInPQ(freelancer);
+        WriteAheadLog log = logMutation(CommandBatch.UPDATE_SKILL);
+        if (log != null) log.handle(freelancerHandle).value(T).value(C).value(R).value(E).value(A).end();
+
+        out.append("updated skills of ");
+        ids.appendName(out, freelancerHandle);
+        out.append(" for ").append(freelancer.getServiceType());
+    }
+
+    // 8) Monthly simulation
+    public String simulateMonth() {
+        simulateMonth(scratch);
+        return scratch.drain();
+    }
+
+    public void simulateMonth(OutputSink out) {
+
+        // Updates only freelancers with monthly work, the others would not change
+        int[] work = monthlyWork;
+        int workCount = monthlyWorkCount;
+        monthlyWork = spareMonthlyWork; // Collects the work for next month
+        monthlyWorkCount = 0;
+
+        if (workCount >= BULK_MONTH_THRESHOLD && workCount * 16L >= ids.size()) {
+            bulkMonthlyUpdate(work, workCount); // Many freelancers changed
+        } else {
+            for (int i = 0; i < workCount; i++) {
+                Freelancer f = freelancerAt(work[i]);
+                f.setHasMonthlyWork(false);
+
+                int oldIndex = f.getServiceIndex(); // Stores old service
+
+                f.updateMonthlyStatus(); // Applies monthly updates
+
+                // Updates depending on service change
+                if (oldIndex != f.getServiceIndex()) {
+                    moveFreelancerBetweenServices(f, oldIndex);
+                } else {
+                    refreshFreelancerInPQ(f);
+                }
+
+                // Burnout may recover next month even without new jobs
+                markMonthlyWork(f);
+            }
+        }
+        spareMonthlyWork = work;
+
+        // Updates loyalty tiers
+        Object[] pending = pendingLoyaltyUpdates.values();
+        for (Object obj : pending) {
+            if (obj == null) continue;
+            Customer c = (Customer) obj;
+            c.updateLoyaltyTier();
+        }
+        pendingLoyaltyUpdates.clear(); // Clears list
+
+        month++;
+        WriteAheadLog log = logMutation(CommandBatch.SIMULATE_MONTH);
+        if (log != null) log.end();
+        out.append("month complete");
+    }
+
+    // 11) Checkpoint, writes a snapshot of the whole platform to a file
+    public String checkpoint(String file) {
+        checkpoint(file, scratch);
+        return scratch.drain();
+    }
+
+    public void checkpoint(String file, OutputSink out) {
+        // Validation
+        if (file == null || file.trim().isEmpty()) {
+            out.append("Some error occurred in checkpoint.");
+            return;
+        }
+
+        try {
+            Path target = checkpointTarget(file);
+            if (target == null) {
+                out.append("Some error occurred in checkpoint.");
+                return;
+            }
+            writeSnapshot(target);
+        } catch (IOException | InvalidPathException e) {
+            out.append("Some error occurred in checkpoint.");
+            return;
+        }
+
+        out.append("checkpoint saved to ").append(file);
+    }
+
+    // Writes the simulation state to a snapshot file: IDs, customers, freelancer columns,
+    // heap contents, monthly worklist, pending loyalty updates, the month and the mutation count.
+    // The ledger, the log and the scan budget are settings of the run and are not included.
+    public void writeSnapshot(Path file) throws IOException {
+        PlatformSnapshot snapshot = PlatformSnapshot.create();
+        snapshot.putInt(month);
+        snapshot.putLong(mutationCount);
+        snapshot.putInt(CompositeScorer.serviceCount());
+        ids.writeTo(snapshot);
+        int users = ids.size();
+
+        // Customers, one column per field, set members back to back
+        int customerCount = 0;
+        for (int h = 0; h < users; h++) {
+            if (customerAt(h) != null) customerCount++;
+        }
+        int[] handles = new int[customerCount];
+        int[] spent = new int[customerCount];
+        byte[] tiers = new byte[customerCount];
+        int[] employments = new int[customerCount];
+        int[] cancellations = new int[customerCount];
+        int[] setSizes = new int[customerCount * 2]; // Blacklist and active sizes
+        IntList members = new IntList();
+
+        int n = 0;
+        for (int h = 0; h < users; h++) {
+            Customer c = customerAt(h);
+            if (c == null) continue;
+            handles[n] = h;
+            spent[n] = c.getTotalSpent();
+            tiers[n] = (byte) tierCode(c.getLoyaltyTier());
+            employments[n] = c.getTotalEmploymentCount();
+            cancellations[n] = c.getCustomerCancellationCount();
+            setSizes[2 * n] = members.addAll(c.getBlacklist());
+            setSizes[2 * n + 1] = members.addAll(c.getActiveFreelancers());
+            n++;
+        }
+        snapshot.putInt(customerCount);
+        snapshot.putInts(handles, customerCount);
+        snapshot.putInts(spent, customerCount);
+        snapshot.putBytes(tiers, customerCount);
+        snapshot.putInts(employments, customerCount);
+        snapshot.putInts(cancellations, customerCount);
+        snapshot.putInts(setSizes, customerCount * 2);
+        snapshot.putInt(members.size);
+        snapshot.putInts(members.values, members.size);
+
+        // Freelancers: the store columns, then the handle and score of each row
+        freelancerStore.writeTo(snapshot);
+        int rows = freelancerStore.size();
+        int[] rowHandle = new int[rows];
+        int[] rowScore = new int[rows];
+        for (int h = 0; h < users; h++) {
+            Freelancer f = freelancerAt(h);
+            if (f == null) continue;
+            rowHandle[f.getRow()] = h;
+            rowScore[f.getRow()] = f.getCompositeScore();
+        }
+        snapshot.putInts(rowHandle, rows);
+        snapshot.putInts(rowScore, rows);
+
+        // Service heaps in slot order
+        for (MyPriorityQueue<Freelancer> pq : freelancerPQByService) {
+            int size = pq.size();
+            int[] slots = new int[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = pq.get(i).getHandle();
+            }
+            snapshot.putInt(size);
+            snapshot.putInts(slots, size);
+        }
+
+        snapshot.putInt(monthlyWorkCount);
+        snapshot.putInts(monthlyWork, monthlyWorkCount);
+
+        IntList pending = new IntList();
+        for (Object obj : pendingLoyaltyUpdates.values()) {
+            if (obj != null) pending.add(((Customer) obj).getHandle());
+        }
+        snapshot.putInt(pending.size);
+        snapshot.putInts(pending.values, pending.size);
+
+        snapshot.save(file);
+    }
+
+    // Reads a platform written by writeSnapshot. Columns are bulk-read, employments are rebuilt
+    // from the employer column and each heap is refilled in slot order and heapified in O(n).
+    public static PlatformManager readSnapshot(Path file) throws IOException {
+        PlatformSnapshot snapshot = PlatformSnapshot.open(file);
+        try {
+            return restore(snapshot);
+        } catch (RuntimeException e) { // Checksum matched but the content does not fit
+            throw new IOException("Corrupt snapshot: " + file, e);
+        }
+    }
+
+    // Records by handle, null for other handles (ConcurrentPlatform renders query results from these)
+    Customer customer(int handle) {
+        return customerAt(handle);
+    }
+    Freelancer freelancer(int handle) {
+        return freelancerAt(handle);
+    }
+
+    // Users whose query results the next simulateMonth may change: the freelancers on the
+    // monthly worklist and the customers waiting for a loyalty tier update
+    int[] monthlyChanges() {
+        Object[] pending = pendingLoyaltyUpdates.values();
+        int[] handles = Arrays.copyOf(monthlyWork, monthlyWorkCount + pending.length);
+        int n = monthlyWorkCount;
+        for (Object obj : pending) {
+            if (obj != null) handles[n++] = ((Customer) obj).getHandle();
+        }
+        return Arrays.copyOf(handles, n);
+    }
+
+    // Service of a freelancer's heap, -1 for other handles (ConcurrentPlatform picks its lock with this)
+    int serviceOf(int handle) {
+        Freelancer f = freelancerAt(handle);
+        return f == null ? -1 : f.getServiceIndex();
+    }
+
+    // Customer of a freelancer's active employment, -1 if none or if the handle is no freelancer
+    int employerOf(int handle) {
+        Freelancer f = freelancerAt(handle);
+        return f == null ? -1 : f.getEmployerHandle();
+    }
+
+    // Checks that employments, availability and heaps agree and returns the number of active
+    // employments. Throws IllegalStateException on the first broken rule.
+    int verifyInvariants() {
+        int users = ids.size();
+        int active = 0;
+        int eligible = 0;
+        for (int h = 0; h < users; h++) {
+            Freelancer f = freelancerAt(h);
+            if (f == null) continue;
+
+            // One employer at a time, known to both sides
+            int employer = f.getEmployerHandle();
+            Employment emp = f.getActiveEmployment();
+            if (employer >= 0) {
+                active++;
+                Customer c = customerAt(employer);
+                if (c == null || emp == null || !emp.getIsActive() || emp.getCustomer() != c
+                        || f.isAvailable() || !contains(c.getActiveFreelancers(), h)) {
+                    throw brokenInvariant("employment of", h);
+                }
+            } else if (!f.isAvailable() || (emp != null && emp.getIsActive())) {
+                throw brokenInvariant("availability of", h);
+            }
+
+            // Listed in its service heap exactly when it can be offered
+            boolean offered = f.isAvailable() && !f.isPlatformBanned();
+            int slot = f.getHeapIndex();
+            if (offered != (slot >= 0)
+                    || (slot >= 0 && freelancerPQByService[f.getServiceIndex()].get(slot) != f)) {
+                throw brokenInvariant("heap slot of", h);
+            }
+            if (offered) eligible++;
+        }
+
+        int claimed = 0;
+        for (int h = 0; h < users; h++) {
+            Customer c = customerAt(h);
+            if (c == null) continue;
+            for (int fh : c.getActiveFreelancers()) {
+                if (employerOf(fh) != h) {
+                    throw brokenInvariant("active freelancers of", h);
+                }
+                claimed++;
+            }
+        }
+        if (claimed != active) {
+            throw new IllegalStateException(claimed + " employments on the customer side, " + active
+                    + " on the freelancer side");
+        }
+
+        int listed = 0;
+        for (MyPriorityQueue<Freelancer> pq : freelancerPQByService) {
+            for (int i = 1; i < pq.size(); i++) {
+                if (compareFreelancers(pq.get((i - 1) >>> 1), pq.get(i)) > 0) {
+                    throw brokenInvariant("heap order at", pq.get(i).getHandle());
+                }
+            }
+            listed += pq.size();
+        }
+        if (listed != eligible) {
+            throw new IllegalStateException(listed + " freelancers in heaps, " + eligible + " can be offered");
+        }
+        return active;
+    }
+
+    // ---HELPER METHODS---
+    // Path checkpoint writes file to, null when it is not allowed (see confineCheckpoints)
+    private Path checkpointTarget(String file) {
+        Path path = Paths.get(file);
+        if (!checkpointsConfined) {
+            return path;
+        }
+        if (checkpointDir == null || path.getRoot() != null || path.getNameCount() != 1
+                || path.toString().equals(".") || path.toString().equals("..")) {
+            return null;
+        }
+        return checkpointDir.resolve(path);
+    }
+
+    // Counts a successful mutation and starts its log record, null when there is no log.
+    // Called once the mutation is complete, the caller adds the arguments and ends the record.
+    private WriteAheadLog logMutation(int op) {
+        synchronized (bookkeeping) {
+            mutationCount++;
+        }
+        return wal == null ? null : wal.begin(op);
+    }
+
+    private static PlatformManager restore(PlatformSnapshot snapshot) throws IOException {
+        PlatformManager p = new PlatformManager();
+        p.month = snapshot.getInt();
+        p.mutationCount = snapshot.getLong();
+        if (snapshot.getInt() != CompositeScorer.serviceCount()) {
+            throw new IOException("Snapshot was written with other service types");
+        }
+        p.ids = IdDictionary.readFrom(snapshot);
+        int users = p.ids.size();
+        p.ensureCapacity(users - 1);
+
+        // Customers
+        int customerCount = snapshot.getCount(users);
+        int[] handles = snapshot.getInts(new int[customerCount], customerCount);
+        int[] spent = snapshot.getInts(new int[customerCount], customerCount);
+        byte[] tiers = snapshot.getBytes(new byte[customerCount], customerCount);
+        int[] employments = snapshot.getInts(new int[customerCount], customerCount);
+        int[] cancellations = snapshot.getInts(new int[customerCount], customerCount);
+        int[] setSizes = snapshot.getInts(new int[customerCount * 2], customerCount * 2);
+        int memberCount = snapshot.getCount(Integer.MAX_VALUE - 8);
+        int[] members = snapshot.getInts(new int[memberCount], memberCount);
+
+        int next = 0;
+        for (int i = 0; i < customerCount; i++) {
+            int[] blacklist = Arrays.copyOfRange(members, next, next += setSizes[2 * i]);
+            int[] active = Arrays.copyOfRange(members, next, next += setSizes[2 * i + 1]);
+            Customer c = new Customer(handles[i]);
+            c.restore(spent[i], LOYALTY_TIERS[tiers[i]], employments[i], cancellations[i], blacklist, active);
+            p.setCustomer(handles[i], c);
+        }
+
+        // Freelancers and their active employments
+        p.freelancerStore = FreelancerStore.readFrom(snapshot);
+        FreelancerStore store = p.freelancerStore;
+        int rows = store.size();
+        int[] rowHandle = snapshot.getInts(new int[rows], rows);
+        int[] rowScore = snapshot.getInts(new int[rows], rows);
+        for (int row = 0; row < rows; row++) {
+            Freelancer f = new Freelancer(store, row, rowHandle[row]);
+            f.setCompositeScore(rowScore[row]);
+            p.setFreelancer(rowHandle[row], f);
+
+            int employer = f.getEmployerHandle();
+            if (employer >= 0) {
+                f.setActiveEmployment(new Employment(p.customerAt(employer), f));
+            }
+        }
+
+        // Heaps, already in heap order, so heapify only checks it
+        for (MyPriorityQueue<Freelancer> pq : p.freelancerPQByService) {
+            int size = snapshot.getCount(rows);
+            for (int handle : snapshot.getInts(new int[size], size)) {
+                pq.addUnordered(p.freelancerAt(handle));
+            }
+            pq.heapify();
+        }
+
+        int workCount = snapshot.getCount(rows);
+        p.monthlyWork = snapshot.getInts(new int[Math.max(16, workCount)], workCount);
+        p.monthlyWorkCount = workCount;
+        p.spareMonthlyWork = new int[p.monthlyWork.length];
+
+        int pendingCount = snapshot.getCount(customerCount);
+        for (int handle : snapshot.getInts(new int[pendingCount], pendingCount)) {
+            p.pendingLoyaltyUpdates.put(handle, p.customerAt(handle));
+        }
+        return p;
+    }
+
+    private static int tierCode(String tier) {
+        for (int i = 0; i < LOYALTY_TIERS.length; i++) {
+            if (LOYALTY_TIERS[i].equals(tier)) return i;
+        }
+        throw new IllegalStateException("Unknown loyalty tier " + tier);
+    }
+
+    // Growable int array for snapshot sections
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+
+        // Appends every value and returns how many there were
+        int addAll(int[] vs) {
+            for (int v : vs) {
+                add(v);
+            }
+            return vs.length;
+        }
+    }
+
+    // Appends a finished employment to the ledger, if there is one
+    private void recordJob(int customerHandle, Freelancer freelancer, byte outcome, int rating) {
+        if (ledger != null) {
+            synchronized (bookkeeping) {
+                ledger.append(customerHandle, freelancer.getHandle(), month, freelancer.getServicePrice(),
+                        outcome, rating);
+            }
+        }
+    }
+
+    // Month update for a large worklist: freelancer state and scores are updated in parallel,
+    // then the heap contents are fixed without sifting and each changed heap is rebuilt with
+    // heapify, one service per task. Heap order is total (score, then ID), so results are the
+    // same as with one-by-one refreshes.
+    private void bulkMonthlyUpdate(int[] work, int workCount) {
+        int[] oldServiceIndex = new int[workCount];
+        ForkJoinPool.commonPool().invoke(new MonthlyUpdateTask(work, oldServiceIndex, 0, workCount));
+
+        // Membership changes (service moves and bans), sequential since heaps are shared
+        boolean[] changed = new boolean[CompositeScorer.serviceCount()];
+        for (int i = 0; i < workCount; i++) {
+            Freelancer f = freelancerAt(work[i]);
+            int oldIndex = oldServiceIndex[i];
+            int newIndex = f.getServiceIndex();
+            boolean eligible = f.isAvailable() && !f.isPlatformBanned();
+
+            if (f.getHeapIndex() >= 0) {
+                changed[oldIndex] = true; // Score may have changed in place
+                if (oldIndex != newIndex || !eligible) {
+                    freelancerPQByService[oldIndex].removeUnordered(f);
+                }
+            }
+            if (eligible && f.getHeapIndex() < 0 && newIndex != -1) {
+                freelancerPQByService[newIndex].addUnordered(f);
+                changed[newIndex] = true;
+            }
+
+            // Burnout may recover next month even without new jobs
+            markMonthlyWork(f);
+        }
+
+        // Rebuilds the changed heaps in parallel
+        ArrayList<RecursiveAction> rebuilds = new ArrayList<>();
+        for (int s = 0; s < CompositeScorer.serviceCount(); s++) {
+            if (changed[s]) {
+                rebuilds.add(new HeapifyTask(freelancerPQByService[s]));
+            }
+        }
+        ForkJoinTask.invokeAll(rebuilds);
+    }
+
+    // Applies monthly updates and recomputes scores for a range of the worklist
+    @SuppressWarnings("serial") // Never serialized
+    private final class MonthlyUpdateTask extends RecursiveAction {
+        private final int[] work;
+        private final int[] oldServiceIndex; // Filled with each freelancer's service before the update
+        private final int from;
+        private final int to;
+
+        MonthlyUpdateTask(int[] work, int[] oldServiceIndex, int from, int to) {
+            this.work = work;
+            this.oldServiceIndex = oldServiceIndex;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MONTH_TASK_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MonthlyUpdateTask(work, oldServiceIndex, from, mid),
+                          new MonthlyUpdateTask(work, oldServiceIndex, mid, to));
+                return;
+            }
+
+            // Each freelancer is touched by exactly one task
+            int[] rowStart = new int[CompositeScorer.serviceCount() + 1];
+            for (int i = from; i < to; i++) {
+                Freelancer f = freelancerAt(work[i]);
+                f.setHasMonthlyWork(false);
+                oldServiceIndex[i] = f.getServiceIndex();
+
+                f.updateMonthlyStatus();
+                rowStart[f.getServiceIndex() + 1]++;
+            }
+            for (int s = 0; s < CompositeScorer.serviceCount(); s++) {
+                rowStart[s + 1] += rowStart[s];
+            }
+
+            // Rescores the range as one batch, rows grouped by service for the SIMD kernel
+            int n = to - from;
+            ScoreBatch batch = new ScoreBatch(n);
+            int[] handleOfRow = new int[n];
+            for (int i = from; i < to; i++) {
+                Freelancer f = freelancerAt(work[i]);
+                int row = rowStart[f.getServiceIndex()]++;
+                batch.load(row, f);
+                handleOfRow[row] = work[i];
+            }
+            CompositeScorer.scoreBatch(batch, 0, n);
+            for (int row = 0; row < n; row++) {
+                freelancerAt(handleOfRow[row]).setCompositeScore(batch.scoreAt(row));
+            }
+        }
+    }
+
+    // Restores the order of one service heap
+    @SuppressWarnings("serial") // Never serialized
+    private static final class HeapifyTask extends RecursiveAction {
+        private final MyPriorityQueue<Freelancer> pq;
+
+        HeapifyTask(MyPriorityQueue<Freelancer> pq) {
+            this.pq = pq;
+        }
+
+        @Override
+        protected void compute() {
+            pq.heapify();
+        }
+    }
+
+    // PQ helpers, only available and unbanned freelancers are kept in a PQ
+    private void addFreelancerToPQ(Freelancer f) {
+        int index = f.getServiceIndex();
+        if (index == -1) return;
+
+        // Calculates composite score depending on service type
+        int score = CompositeScorer.score(f);
+        f.setCompositeScore(score);
+
+        if (f.isAvailable() && !f.isPlatformBanned()) {
+            freelancerPQByService[index].add(f);
+        }
+    }
+    private void refreshFreelancerInPQ(Freelancer f) {
+        int index = f.getServiceIndex();
+        if (index == -1) return;
+
+        MyPriorityQueue<Freelancer> pq = freelancerPQByService[index];
+
+        pq.remove(f); // Firstly, removes (no-op if employed or banned)
+
+        // Calculates new composite score
+        int score = CompositeScorer.score(f);
+        f.setCompositeScore(score);
+
+        // Finally, adds back if it can be offered
+        if (f.isAvailable() && !f.isPlatformBanned()) {
+            pq.add(f);
+        }
+    }
+    private void removeFreelancerFromPQ(Freelancer f) {
+        int index = f.getServiceIndex();
+        if (index == -1) return;
+
+        freelancerPQByService[index].remove(f);
+    }
+    private void moveFreelancerBetweenServices(Freelancer f, int oldindex) {
+        // Removes from old service PQ
+        if (oldindex != -1) {
+            freelancerPQByService[oldindex].remove(f);
+        }
+
+        // Adds new service PQ
+        addFreelancerToPQ(f);
+    }
+
+    // Lists a freelancer for the next simulateMonth if its monthly update would change anything
+    private void markMonthlyWork(Freelancer f) {
+        if (f.getHasMonthlyWork() || !f.needsMonthlyUpdate()) return;
+
+        synchronized (bookkeeping) {
+            if (monthlyWorkCount == monthlyWork.length) {
+                monthlyWork = Arrays.copyOf(monthlyWork, monthlyWorkCount * 2);
+            }
+            monthlyWork[monthlyWorkCount++] = f.getHandle();
+        }
+        f.setHasMonthlyWork(true);
+    }
+
+    // Lists a customer for the loyalty tier update of the next simulateMonth
+    private void markLoyaltyUpdate(Customer c) {
+        synchronized (bookkeeping) {
+            pendingLoyaltyUpdates.put(c.getHandle(), c);
+        }
+    }
+
+    private IllegalStateException brokenInvariant(String what, int handle) {
+        return new IllegalStateException("Broken invariant: " + what + " " + ids.name(handle));
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) return true;
+        }
+        return false;
+    }
+
+    // Record lookups by handle (null for -1, unknown handles and the other user type)
+    private Customer customerAt(int handle) {
+        return (handle >= 0 && handle < recordCapacity) ? customers[handle >>> PAGE_SHIFT][handle & PAGE_MASK] : null;
+    }
+    private Freelancer freelancerAt(int handle) {
+        return (handle >= 0 && handle < recordCapacity) ? freelancers[handle >>> PAGE_SHIFT][handle & PAGE_MASK] : null;
+    }
+
+    private void setCustomer(int handle, Customer customer) {
+        customers[handle >>> PAGE_SHIFT][handle & PAGE_MASK] = customer;
+    }
+    private void setFreelancer(int handle, Freelancer freelancer) {
+        freelancers[handle >>> PAGE_SHIFT][handle & PAGE_MASK] = freelancer;
+    }
+
+    // Grows the record pages to hold the given handle: the first page doubles up to
+    // PAGE_SIZE, then one full page is added at a time
+    private void ensureCapacity(int handle) {
+        while (handle >= recordCapacity) {
+            int page = recordCapacity >>> PAGE_SHIFT;
+            int length = PAGE_SIZE;
+            if (recordCapacity < PAGE_SIZE) {
+                page = 0;
+                length = Math.min(Math.max(recordCapacity * 2, 16), PAGE_SIZE);
+            }
+            if (page == customers.length) { // Page references only
+                customers = Arrays.copyOf(customers, page * 2);
+                freelancers = Arrays.copyOf(freelancers, page * 2);
+            }
+            customers[page] = customers[page] == null ? new Customer[length] : Arrays.copyOf(customers[page], length);
+            freelancers[page] = freelancers[page] == null ? new Freelancer[length] : Arrays.copyOf(freelancers[page], length);
+            recordCapacity = (page << PAGE_SHIFT) + length;
+        }
+    }
+
+    // Heap order: higher composite score first, ties broken by ID
+    private int compareFreelancers(Freelancer a, Freelancer b) {
+        if (a.getCompositeScore() != b.getCompositeScore()) {
+            return Integer.compare(b.getCompositeScore(), a.getCompositeScore());
+        }
+        return ids.compare(a.getHandle(), b.getHandle());
+    }
+
+    // Validates skills
+    private boolean validSkill(int T, int C, int R, int E, int A) {
+        return (0<=T && T<=100) && (0<=C && C<=100) && (0<=R && R<=100) &&
+                (0<=E && E<=100) && (0<=A && A<=100);
+    }
+
+
+    // Checks service type is valid
+    private boolean isValidService(String serviceType) {
+        return CompositeScorer.serviceIndex(serviceType) != -1;
+    }
+
+    // Gets the index of service type
+    private int getServiceIndex(String serviceType) {
+        return CompositeScorer.serviceIndex(serviceType);
+    }
+
+    // Calculates customer payment with loyalty discount
+    private int computeCustomerPayment(Customer customer, int price) {
+
+        double discount;
+        switch (customer.getLoyaltyTier()) {
+            case "SILVER":
+                discount = 0.05;
+                break;
+            case "GOLD":
+                discount = 0.10;
+                break;
+            case "PLATINUM":
+                discount = 0.15;
+                break;
+            default:
+                discount = 0.0;
+        }
+
+        return (int) Math.floor(price * (1.0 - discount));
+    }
+
+}
@@ -0,0 +1,335 @@
+package gigmatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running server that runs command lines sent by clients over a TCP or Unix-domain socket.
+ *
+ * A client sends lines exactly as in an input file and gets back the same result lines the
+ * output file would hold, in order. It does not have to wait for a result before sending the
+ * next line: a session runs every complete line that has arrived, then writes all of their
+ * results back at once (pipelining). Each session runs on its own thread, a virtual thread
+ * when the JVM has them (Java 21 and later) and a platform thread otherwise.
+ *
+ * Commands run on one of two engines:
+ * - ordered (the default): sessions decode their lines into CommandBatches and queue them for
+ *   one engine thread that owns the PlatformManager, so commands run one at a time as in file
+ *   mode. The engine runs every batch queued meanwhile as one round; with a write-ahead log it
+ *   then commits once for the whole round (a group commit across sessions), and sessions only
+ *   write results whose log records are on disk.
+ * - concurrent: sessions run their lines on a ConcurrentPlatform themselves. There is no
+ *   single command order, so a platform with a write-ahead log is refused.
+ *
+ * Clients are not authenticated, so the server only listens on loopback or a Unix-domain
+ * socket unless the caller allows other addresses. Lines are split exactly as CommandParser
+ * splits a file ('\n', '\r' or "\r\n"). A line longer than MAX_LINE ends its session.
+ * checkpoint is refused unless the operator gives a snapshot directory; then it only writes a
+ * bare file name inside it (see PlatformManager.confineCheckpoints).
+ */
+public final class PlatformServer implements Closeable {
+
+    // DATA FIELDS
+    private static final int READ_SIZE = 1 << 16; // Socket read buffer of a session
+    static final int MAX_LINE = 1 << 16; // Longest line a client may send, in bytes
+    private static final int QUEUE_SIZE = 1024; // Batches waiting for the engine
+
+    private final PlatformManager platform; // Ordered engine, null when concurrent
+    private final ConcurrentPlatform concurrent; // Concurrent engine, null when ordered
+    private final Charset charset = Charset.defaultCharset(); // Same as file mode
+    private final ThreadFactory sessionThreads;
+    private final boolean virtualSessions;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet(); // Open connections
+
+    private final BlockingQueue<Session> queue; // Sessions with a batch for the engine
+    private final Session stop; // Queued by close, the engine exits after its round
+    private final Thread engine;
+
+    private volatile ServerSocketChannel server;
+    private volatile SocketAddress address; // Bound address (the real port when 0 was asked)
+    private volatile boolean closed;
+
+    // CONSTRUCTORS
+    // Clients cannot write checkpoints
+    public PlatformServer(PlatformManager platform, boolean concurrent) {
+        this(platform, concurrent, null);
+    }
+
+    // checkpoint FILE writes snapshotDir/FILE, or is refused when snapshotDir is null
+    public PlatformServer(PlatformManager platform, boolean concurrent, Path snapshotDir) {
+        platform.confineCheckpoints(snapshotDir);
+        ThreadFactory virtual = virtualThreadFactory();
+        this.virtualSessions = virtual != null;
+        this.sessionThreads = virtual != null ? virtual : platformThreadFactory();
+        if (concurrent) {
+            this.platform = null;
+            this.concurrent = new ConcurrentPlatform(platform);
+            this.queue = null;
+            this.stop = null;
+            this.engine = null;
+        } else {
+            this.platform = platform;
+            this.concurrent = null;
+            this.queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+            this.stop = new Session(null);
+            this.engine = new Thread(this::runEngine, "gigmatch-engine");
+            this.engine.start();
+        }
+    }
+
+    // GETTERS
+    public SocketAddress getAddress() {return address;}
+    public boolean hasVirtualSessions() {return virtualSessions;}
+    public boolean isConcurrent() {return concurrent != null;}
+
+    // ---METHODS---
+    // "unix:PATH" is a Unix-domain socket; "HOST:PORT" or just "PORT" (on loopback) is TCP
+    public static SocketAddress parseAddress(String address) {
+        if (address.startsWith("unix:")) {
+            return UnixDomainSocketAddress.of(address.substring("unix:".length()));
+        }
+        int colon = address.lastIndexOf(':');
+        if (colon < 0) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        }
+        return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    }
+
+    // Listens on a loopback or Unix-domain address and returns the bound address
+    public SocketAddress bind(SocketAddress local) throws IOException {
+        return bind(local, false);
+    }
+
+    // Listens on the address and returns the bound address; any other interface than loopback
+    // must be allowed explicitly, since clients are not authenticated
+    public SocketAddress bind(SocketAddress local, boolean allowRemote) throws IOException {
+        if (!allowRemote && local instanceof InetSocketAddress) {
+            InetAddress host = ((InetSocketAddress) local).getAddress();
+            if (host == null || !host.isLoopbackAddress()) {
+                throw new IOException("not a loopback address: " + local);
+            }
+        }
+        ServerSocketChannel channel;
+        if (local instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) local).getPath()); // Left by an earlier run
+            channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            channel = ServerSocketChannel.open();
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        }
+        channel.bind(local, QUEUE_SIZE);
+        server = channel;
+        address = channel.getLocalAddress();
+        return address;
+    }
+
+    // Accepts clients until close, one session thread each
+    public void serve() throws IOException {
+        ServerSocketChannel channel = server;
+        while (!closed) {
+            SocketChannel client;
+            try {
+                client = channel.accept();
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+                throw e;
+            }
+            if (client.getLocalAddress() instanceof InetSocketAddress) {
+                client.setOption(StandardSocketOptions.TCP_NODELAY, true); // Results are written in bursts already
+            }
+            Session session = new Session(client);
+            sessions.add(session);
+            session.thread = sessionThreads.newThread(session);
+            session.thread.start();
+            if (closed) { // Raced with close
+                session.thread.interrupt();
+            }
+        }
+    }
+
+    // Stops accepting, lets the engine finish its round and ends every session
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ServerSocketChannel channel = server;
+        if (channel != null) {
+            channel.close();
+            if (address instanceof UnixDomainSocketAddress) {
+                Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            }
+        }
+        if (engine != null) {
+            // Not interrupted: an interrupt would close the log's file channel in the middle of a write
+            queue.clear(); // Their sessions are ended below
+            try {
+                queue.put(stop);
+                engine.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Session session : sessions) {
+            if (session.thread != null) {
+                session.thread.interrupt(); // Also closes its socket
+            }
+        }
+    }
+
+    // ---HELPER METHODS---
+    // Ordered engine: runs all queued batches, commits the log once and releases their sessions
+    private void runEngine() {
+        CommandParser parser = new CommandParser(platform);
+        ArrayList<Session> round = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                round.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(round);
+            IOException failure = null;
+            for (Session session : round) {
+                if (session == stop) {
+                    stopping = true;
+                    continue;
+                }
+                try {
+                    parser.execute(session.batch, session.out);
+                } catch (IOException e) {
+                    session.failure = e;
+                }
+            }
+            WriteAheadLog wal = platform.getWriteAheadLog();
+            if (wal != null) {
+                try {
+                    wal.commit();
+                } catch (IOException e) {
+                    failure = e; // Nothing of this round may be answered
+                }
+            }
+            for (Session session : round) {
+                if (failure != null) {
+                    session.failure = failure;
+                }
+                session.done.release();
+            }
+            round.clear();
+        }
+    }
+
+    // Virtual thread factory, looked up by reflection so that the engine still builds for Java 17
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> type = Class.forName("java.lang.Thread$Builder");
+            builder = type.getMethod("name", String.class, long.class).invoke(builder, "gigmatch-session-", 0L);
+            return (ThreadFactory) type.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null; // Before Java 21 (or a preview API that is not enabled)
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger next = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "gigmatch-session-" + next.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // One client connection: reads lines, runs them and writes their results
+    private final class Session implements Runnable {
+        private final SocketChannel channel;
+        private final OutputSink out = new OutputSink(null, charset); // Filled by the engine or the session
+        private final CommandParser reader; // Splits lines like file mode
+        private final CommandBatch batch; // Lines read and not run yet
+        private final Semaphore done = new Semaphore(0); // Released by the engine after the batch ran
+        private IOException failure; // Set by the engine before releasing done
+        private volatile Thread thread;
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+            this.reader = channel != null ? CommandParser.lineReader() : null;
+            this.batch = channel != null ? new CommandBatch() : null;
+        }
+
+        @Override
+        public void run() {
+            try (SocketChannel client = channel) {
+                byte[] chunk = new byte[READ_SIZE];
+                ByteBuffer in = ByteBuffer.wrap(chunk);
+                int read;
+                while ((read = client.read(in.clear())) >= 0) {
+                    reader.scan(chunk, read, batch, this::runBatch);
+                    respond();
+                    if (reader.getPendingLength() > MAX_LINE) {
+                        return; // A line without end, drops the client
+                    }
+                }
+                reader.finish(batch, this::runBatch); // Last line without a line break, as in file mode
+                respond();
+            } catch (IOException | InterruptedException e) {
+                // Client gone, log failure or server closed: the connection ends
+            } finally {
+                sessions.remove(this);
+            }
+        }
+
+        // Writes the results of every line read so far
+        private void respond() throws IOException, InterruptedException {
+            if (batch.count > 0) {
+                runBatch(batch);
+            }
+            out.drainTo(channel);
+        }
+
+        // Runs the batch, on the engine thread or on the concurrent platform, and empties it
+        private CommandBatch runBatch(CommandBatch full) throws IOException, InterruptedException {
+            if (concurrent != null) {
+                for (int i = 0; i < full.count; i++) {
+                    int from = full.lineStart[i];
+                    concurrent.execute(new String(full.bytes, from, full.lineEnd[i] - from, charset), out);
+                }
+                full.clear();
+                return full;
+            }
+            if (closed) {
+                throw new InterruptedException("server closed");
+            }
+            queue.put(this);
+            done.acquire();
+            full.clear();
+            if (failure != null) {
+                throw failure;
+            }
+            return full;
+        }
+    }
+}
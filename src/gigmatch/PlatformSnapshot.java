@@ -0,0 +1,189 @@
+package gigmatch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot file of a PlatformManager (see PlatformManager.writeSnapshot and
+ * readSnapshot).
+ *
+ * The file is a HEADER_SIZE byte header (magic, version, payload length, CRC32C of the
+ * payload) followed by the payload, little endian. Records write their sections as counts
+ * and whole primitive arrays, which are copied with bulk puts and gets. A snapshot is
+ * read from a read-only mapping after its checksum has been verified, and written to a
+ * temporary file that replaces the target once it is complete.
+ */
+public final class PlatformSnapshot {
+
+    // DATA FIELDS
+    private static final int MAGIC = 0x4E534D47; // "GMSN"
+    static final int VERSION = 2; // 2 added the mutation count
+    private static final int HEADER_SIZE = 20;
+
+    private ByteBuffer buffer; // Payload, grows while writing
+
+    // CONSTRUCTORS
+    private PlatformSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Empty snapshot to write sections into
+    static PlatformSnapshot create() {
+        return new PlatformSnapshot(ByteBuffer.allocate(1 << 16));
+    }
+
+    // Opens a snapshot file, checking its header and checksum
+    static PlatformSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Truncated snapshot: " + file);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Reads the whole header
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            long length = header.getLong();
+            int checksum = header.getInt();
+            if (length != channel.size() - HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Truncated snapshot: " + file);
+            }
+
+            ByteBuffer payload = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, length);
+            if (checksum(payload) != checksum) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+            return new PlatformSnapshot(payload);
+        }
+    }
+
+    // ---METHODS---
+    // Writes the snapshot to file (through a temporary file in the same directory)
+    void save(Path file) throws IOException {
+        ByteBuffer payload = buffer.duplicate().flip();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(payload.remaining()).putInt(checksum(payload)).flip();
+
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (payload.hasRemaining()) {
+                    channel.write(payload);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Bytes of payload written or read so far
+    int position() {
+        return buffer.position();
+    }
+
+    // Writing
+    void putInt(int v) {
+        ensure(4);
+        buffer.putInt(v);
+    }
+
+    void putLong(long v) {
+        ensure(8);
+        buffer.putLong(v);
+    }
+
+    void putBytes(byte[] src, int n) {
+        ensure(n);
+        buffer.put(src, 0, n);
+    }
+
+    void putInts(int[] src, int n) {
+        ensure(4L * n);
+        buffer.asIntBuffer().put(src, 0, n);
+        buffer.position(buffer.position() + 4 * n);
+    }
+
+    void putDoubles(double[] src, int n) {
+        ensure(8L * n);
+        buffer.asDoubleBuffer().put(src, 0, n);
+        buffer.position(buffer.position() + 8 * n);
+    }
+
+    // Reading
+    int getInt() {
+        return buffer.getInt();
+    }
+
+    long getLong() {
+        return buffer.getLong();
+    }
+
+    byte[] getBytes(byte[] dst, int n) {
+        buffer.get(dst, 0, n);
+        return dst;
+    }
+
+    int[] getInts(int[] dst, int n) {
+        buffer.asIntBuffer().get(dst, 0, n);
+        buffer.position(buffer.position() + 4 * n);
+        return dst;
+    }
+
+    double[] getDoubles(double[] dst, int n) {
+        buffer.asDoubleBuffer().get(dst, 0, n);
+        buffer.position(buffer.position() + 8 * n);
+        return dst;
+    }
+
+    // Count read back from the payload, checked against what the reader can hold
+    int getCount(int max) throws IOException {
+        int n = buffer.getInt();
+        if (n < 0 || n > max) {
+            throw new IOException("Corrupt snapshot: count " + n + " out of range");
+        }
+        return n;
+    }
+
+    // ---HELPER METHODS---
+    private static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    // Grows the payload buffer to take n more bytes
+    private void ensure(long n) {
+        if (buffer.remaining() >= n) {
+            return;
+        }
+        long needed = buffer.position() + n;
+        if (needed > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Snapshot larger than 2 GB");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, 2L * buffer.capacity()));
+        ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+
+}
@@ -0,0 +1,72 @@
+package gigmatch;
+
+/**
+ * Columnar input and output of batch scoring, one row per freelancer.
+ *
+ * Each scoring input is its own primitive array, so a kernel can load a run of rows into
+ * vector lanes. Rows are filled with load/set, scored with CompositeScorer.scoreBatch and
+ * read back with scoreAt.
+ */
+public final class ScoreBatch {
+
+    // DATA FIELDS (package-private, the kernels read the columns directly)
+    final int[] service; // Service index of the row
+    final int[] t;
+    final int[] c;
+    final int[] r;
+    final int[] e;
+    final int[] a;
+    final double[] rating; // Average rating
+    final int[] completed; // Completed jobs
+    final int[] cancelled; // Cancelled jobs
+    final boolean[] burnout;
+    final int[] score; // Output
+
+    // CONSTRUCTORS
+    public ScoreBatch(int capacity) {
+        this.service = new int[capacity];
+        this.t = new int[capacity];
+        this.c = new int[capacity];
+        this.r = new int[capacity];
+        this.e = new int[capacity];
+        this.a = new int[capacity];
+        this.rating = new double[capacity];
+        this.completed = new int[capacity];
+        this.cancelled = new int[capacity];
+        this.burnout = new boolean[capacity];
+        this.score = new int[capacity];
+    }
+
+    // ---METHODS---
+    // Number of rows the batch can hold
+    public int capacity() {
+        return score.length;
+    }
+
+    // Copies the scoring inputs of a freelancer into a row
+    public void load(int row, Freelancer f) {
+        set(row, f.getServiceIndex(), f.getT(), f.getC(), f.getR(), f.getE(), f.getA(),
+                f.getAverageRating(), f.getCompletedJobs(), f.getCancelledJobs(), f.isBurnout());
+    }
+
+    // Sets every scoring input of a row
+    public void set(int row, int serviceIndex, int T, int C, int R, int E, int A,
+                    double averageRating, int completedJobs, int cancelledJobs, boolean isBurnout) {
+        service[row] = serviceIndex;
+        t[row] = T;
+        c[row] = C;
+        r[row] = R;
+        e[row] = E;
+        a[row] = A;
+        rating[row] = averageRating;
+        completed[row] = completedJobs;
+        cancelled[row] = cancelledJobs;
+        burnout[row] = isBurnout;
+    }
+
+    // Score of a row after scoring
+    public int scoreAt(int row) {
+        return score[row];
+    }
+
+}
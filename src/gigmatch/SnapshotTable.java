@@ -0,0 +1,150 @@
+package gigmatch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * String-keyed table for many concurrent readers and serialized writers.
+ *
+ * get() takes no lock. It probes the current array (open addressing with linear probing, like
+ * MyHashTable) with acquire reads, and entries are immutable, so a reader sees either the old
+ * or the new entry of a slot, never half of one. put() is synchronized. It publishes a new
+ * entry with a release write, and when the table is half full it fills a doubled array and
+ * publishes that with a volatile write. A reader still probing the old array finds every key
+ * that was in the table when its get() started. Keys are never removed.
+ */
+public class SnapshotTable<V> {
+
+    // DATA FIELDS
+    private static final int DEFAULT_CAPACITY = 16; // Must be a power of two
+    private static final int GOLDEN_RATIO = 0x9E3779B9; // Multiplier for Fibonacci hashing
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Entry[].class);
+
+    private volatile Entry<V>[] table; // Replaced, never resized in place
+    private int size; // Guarded by this
+
+    // An immutable key-value pair, replaced as a whole when the value changes
+    private static final class Entry<V> {
+        final String key;
+        final int hash;
+        final V value;
+
+        Entry(String key, int hash, V value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    // CONSTRUCTORS
+    // Default constructor
+    public SnapshotTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Constructor with a capacity hint (rounded up to a power of two)
+    public SnapshotTable(int initialCapacity) {
+        int cap = DEFAULT_CAPACITY;
+        while (cap < initialCapacity && cap < (1 << 30)) {
+            cap <<= 1;
+        }
+        this.table = newTable(cap);
+        this.size = 0;
+    }
+
+    // ---METHODS---
+    // Gets the value associated with a key, without locking
+    public V get(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        Entry<V>[] t = table;
+        int h = hash(key);
+        int mask = t.length - 1;
+        int i = slot(h, t.length);
+
+        Entry<V> e;
+        while ((e = entryAt(t, i)) != null) {
+            if (e.hash == h && (e.key == key || e.key.equals(key))) {
+                return e.value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    // Checks if the table contains a key
+    public boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    // Puts a key-value pair into the table, replacing the entry of an existing key
+    public synchronized void put(String key, V value) {
+        if (key == null) {
+            return;
+        }
+
+        Entry<V>[] t = table;
+        int h = hash(key);
+        int mask = t.length - 1;
+        int i = slot(h, t.length);
+
+        Entry<V> e;
+        while ((e = entryAt(t, i)) != null) {
+            if (e.hash == h && e.key.equals(key)) {
+                SLOTS.setRelease(t, i, new Entry<>(key, h, value));
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        SLOTS.setRelease(t, i, new Entry<>(key, h, value));
+        size++;
+
+        // Checks if resize is needed (load factor 0.5)
+        if (size >= t.length >>> 1 && t.length < (1 << 30)) {
+            resize(t);
+        }
+    }
+
+    // Number of keys
+    public synchronized int size() {
+        return size;
+    }
+
+    // ---HELPER METHODS---
+    private static int hash(String key) {
+        return key.hashCode() * GOLDEN_RATIO;
+    }
+
+    // Home slot of a hash, from its top bits
+    private static int slot(int h, int length) {
+        return h >>> (32 - Integer.numberOfTrailingZeros(length));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Entry<V> entryAt(Entry<V>[] t, int i) {
+        return (Entry<V>) SLOTS.getAcquire(t, i);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Entry<V>[] newTable(int capacity) {
+        return (Entry<V>[]) new Entry[capacity];
+    }
+
+    // Copies every entry into a doubled array, then publishes it
+    private void resize(Entry<V>[] old) {
+        Entry<V>[] t = newTable(old.length * 2);
+        int mask = t.length - 1;
+        for (Entry<V> e : old) {
+            if (e == null) continue;
+            int i = slot(e.hash, t.length);
+            while (t[i] != null) {
+                i = (i + 1) & mask;
+            }
+            t[i] = e;
+        }
+        table = t; // Volatile write, the filled array is visible to every later get()
+    }
+}
@@ -0,0 +1,450 @@
+package gigmatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static gigmatch.CommandBatch.*;
+
+/**
+ * Write-ahead log of PlatformManager mutations with group commit.
+ *
+ * Every successful mutation appends one record (opcode, then handles, ints and IDs as
+ * varints) numbered by PlatformManager.getMutationCount(). request_job is logged as the
+ * employ_freelancer it ended in. Records are buffered and written as one checksummed frame
+ * per group commit, followed by one force, when groupBytes are buffered or the oldest
+ * buffered record is older than maxDelayMillis. gate() wraps the output channel so that
+ * no result is written before the records of its command are on disk.
+ *
+ * The log is a directory of segments (wal-NNNNN.log, each starting with the number of its
+ * first record) and the latest checkpoint (checkpoint.bin, a PlatformSnapshot). When a
+ * segment passes segmentBytes, the platform is checkpointed and the older segments are
+ * deleted. open() recovers the platform from the checkpoint plus the records after it, and
+ * cuts off a torn last frame.
+ */
+public final class WriteAheadLog implements Closeable {
+
+    // DATA FIELDS
+    private static final int MAGIC = 0x4C574D47; // "GMWL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16; // Magic, version, first record number
+    private static final int FRAME_HEADER = 8; // Payload length, CRC32C
+    private static final String CHECKPOINT = "checkpoint.bin";
+
+    public static final int DEFAULT_GROUP_BYTES = 1 << 16;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 5;
+    public static final long DEFAULT_SEGMENT_BYTES = 1L << 26;
+
+    private final Path dir;
+    private final int groupBytes; // Buffered bytes that trigger a commit, 0 commits every record
+    private final long maxDelayNanos; // Age of the oldest buffered record that triggers a commit
+    private final long segmentBytes; // Segment size that triggers a checkpoint
+
+    private PlatformManager platform;
+    private FileChannel segment; // Segment being appended to, null once closed
+    private int segmentIndex;
+    private long segmentSize;
+
+    private byte[] buf; // Frame being built, payload starts at FRAME_HEADER
+    private int size;
+    private long firstPending; // nanoTime of the oldest buffered record
+    private final CRC32C crc;
+
+    private long recovered; // Records replayed by open()
+    private long commits; // Frames written
+    private long records; // Records appended since open()
+
+    // CONSTRUCTORS
+    private WriteAheadLog(Path dir, int groupBytes, long maxDelayMillis, long segmentBytes) {
+        this.dir = dir;
+        this.groupBytes = Math.max(0, groupBytes);
+        this.maxDelayNanos = Math.max(0, maxDelayMillis) * 1_000_000L;
+        this.segmentBytes = segmentBytes;
+        this.buf = new byte[Math.max(256, this.groupBytes + 256)];
+        this.size = FRAME_HEADER;
+        this.crc = new CRC32C();
+    }
+
+    // Opens the log in dir with the default thresholds
+    public static WriteAheadLog open(Path dir, PlatformManager base) throws IOException {
+        return open(dir, base, DEFAULT_GROUP_BYTES, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_SEGMENT_BYTES);
+    }
+
+    // Opens the log in dir, creating it or recovering the platform it holds. base is the
+    // starting platform when dir has no checkpoint; the recovered platform (getPlatform())
+    // logs every further mutation to this log.
+    public static WriteAheadLog open(Path dir, PlatformManager base, int groupBytes, long maxDelayMillis,
+                                     long segmentBytes) throws IOException {
+        Files.createDirectories(dir);
+        WriteAheadLog wal = new WriteAheadLog(dir, groupBytes, maxDelayMillis, segmentBytes);
+        Path checkpoint = dir.resolve(CHECKPOINT);
+        PlatformManager platform = Files.exists(checkpoint) ? PlatformManager.readSnapshot(checkpoint) : base;
+        wal.recover(platform);
+        wal.platform = platform;
+        platform.setWriteAheadLog(wal);
+        return wal;
+    }
+
+    // GETTERS
+    public PlatformManager getPlatform() {return platform;}
+    public long getRecovered() {return recovered;}
+    public long getCommits() {return commits;}
+    public long getRecords() {return records;}
+
+    // ---METHODS---
+    // Record building, called by PlatformManager after a mutation: begin, arguments, end
+    WriteAheadLog begin(int op) {
+        if (segment == null) {
+            throw new IllegalStateException("write-ahead log is closed");
+        }
+        if (size == FRAME_HEADER) {
+            firstPending = System.nanoTime();
+        }
+        reserve(1);
+        buf[size++] = (byte) op;
+        return this;
+    }
+
+    WriteAheadLog handle(int handle) {
+        putVarint(handle);
+        return this;
+    }
+
+    WriteAheadLog value(int value) {
+        putVarint((value << 1) ^ (value >> 31));
+        return this;
+    }
+
+    WriteAheadLog id(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        putVarint(bytes.length);
+        reserve(bytes.length);
+        System.arraycopy(bytes, 0, buf, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    void end() {
+        records++;
+        if (size - FRAME_HEADER >= groupBytes || System.nanoTime() - firstPending >= maxDelayNanos) {
+            try {
+                commit();
+                if (segmentSize >= segmentBytes) {
+                    checkpoint();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Writes the buffered records as one frame and forces them to disk
+    public void commit() throws IOException {
+        int length = size - FRAME_HEADER;
+        if (length == 0 || segment == null) {
+            return;
+        }
+        crc.reset();
+        crc.update(buf, FRAME_HEADER, length);
+        ByteBuffer frame = ByteBuffer.wrap(buf, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        frame.putInt(0, length).putInt(4, (int) crc.getValue());
+        while (frame.hasRemaining()) {
+            segment.write(frame);
+        }
+        segment.force(false);
+        segmentSize += size;
+        size = FRAME_HEADER;
+        commits++;
+    }
+
+    // Channel that commits the log before writing to target (results never get ahead of the log)
+    public WritableByteChannel gate(WritableByteChannel target) {
+        return new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                commit();
+                return target.write(src);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return target.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                commit();
+            }
+        };
+    }
+
+    // Snapshots the platform into dir and drops the segments it covers
+    public void checkpoint() throws IOException {
+        commit();
+        platform.writeSnapshot(dir.resolve(CHECKPOINT));
+        int previous = segmentIndex;
+        startSegment(previous + 1, platform.getMutationCount() + 1);
+        for (int i = 0; i <= previous; i++) {
+            Files.deleteIfExists(segmentPath(i));
+        }
+    }
+
+    // Commits what is buffered, closes the segment and detaches the platform from the log
+    @Override
+    public void close() throws IOException {
+        if (segment == null) {
+            return;
+        }
+        commit();
+        segment.close();
+        segment = null;
+        if (platform.getWriteAheadLog() == this) {
+            platform.setWriteAheadLog(null);
+        }
+    }
+
+    // ---HELPER METHODS---
+    private Path segmentPath(int index) {
+        return dir.resolve(String.format("wal-%05d.log", index));
+    }
+
+    // Creates an empty segment whose first record will have number first
+    private void startSegment(int index, long first) throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        segment = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(first).flip();
+        while (header.hasRemaining()) {
+            segment.write(header);
+        }
+        segment.force(true);
+        segmentIndex = index;
+        segmentSize = HEADER_SIZE;
+    }
+
+    // Replays the records after the platform's mutation count and opens the last segment
+    private void recover(PlatformManager platform) throws IOException {
+        int[] indexes = segmentIndexes();
+        if (indexes.length == 0) {
+            startSegment(0, platform.getMutationCount() + 1);
+            return;
+        }
+
+        OutputSink discard = new OutputSink();
+        for (int k = 0; k < indexes.length; k++) {
+            boolean last = k == indexes.length - 1;
+            Path path = segmentPath(indexes[k]);
+            if (k > 0 && indexes[k] != indexes[k - 1] + 1) {
+                throw new IOException("Missing write-ahead log segment before " + path);
+            }
+
+            byte[] data = Files.readAllBytes(path);
+            ByteBuffer in = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+            if (data.length < HEADER_SIZE && last) {
+                startSegment(indexes[k], platform.getMutationCount() + 1); // Crashed while creating it
+                return;
+            }
+            if (data.length < HEADER_SIZE || in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a write-ahead log segment: " + path);
+            }
+            long number = in.getLong();
+            if (number > platform.getMutationCount() + 1) {
+                throw new IOException("Write-ahead log starts after the checkpoint: " + path);
+            }
+
+            // Frames up to the first torn or damaged one
+            int at = HEADER_SIZE;
+            while (at + FRAME_HEADER <= data.length) {
+                int length = in.getInt(at);
+                int checksum = in.getInt(at + 4);
+                if (length <= 0 || length > data.length - at - FRAME_HEADER) {
+                    break;
+                }
+                crc.reset();
+                crc.update(data, at + FRAME_HEADER, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                number = replayFrame(platform, data, at + FRAME_HEADER, at + FRAME_HEADER + length, number, discard);
+                at += FRAME_HEADER + length;
+            }
+
+            if (!last) {
+                if (at != data.length) {
+                    throw new IOException("Damaged write-ahead log segment: " + path);
+                }
+                continue;
+            }
+
+            // Appends to the last segment after its last good frame
+            segment = FileChannel.open(path, StandardOpenOption.WRITE);
+            segment.truncate(at);
+            segment.position(at);
+            segment.force(true);
+            segmentIndex = indexes[k];
+            segmentSize = at;
+        }
+    }
+
+    // Indexes of the segment files in dir, ascending
+    private int[] segmentIndexes() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.matches("wal-\\d{5}\\.log"))
+                    .mapToInt(n -> Integer.parseInt(n.substring(4, 9)))
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    // Applies the records of one frame that come after the platform's mutation count,
+    // returns the number of the record after the frame
+    private long replayFrame(PlatformManager platform, byte[] data, int from, int to, long number,
+                             OutputSink discard) throws IOException {
+        int[] at = {from};
+        while (at[0] < to) {
+            int op = data[at[0]++];
+            boolean apply = number > platform.getMutationCount();
+            int mark = discard.mark();
+            switch (op) {
+                case REGISTER_CUSTOMER: {
+                    String id = readId(data, at);
+                    if (apply) platform.registerCustomer(id, discard);
+                    break;
+                }
+                case REGISTER_FREELANCER: {
+                    String id = readId(data, at);
+                    String service = CompositeScorer.serviceName(readVarint(data, at));
+                    int price = readValue(data, at);
+                    int T = readValue(data, at);
+                    int C = readValue(data, at);
+                    int R = readValue(data, at);
+                    int E = readValue(data, at);
+                    int A = readValue(data, at);
+                    if (apply) platform.registerFreelancer(id, service, price, T, C, R, E, A, discard);
+                    break;
+                }
+                case EMPLOY_FREELANCER: {
+                    int c = readVarint(data, at);
+                    int f = readVarint(data, at);
+                    if (apply) platform.employ(c, f, discard);
+                    break;
+                }
+                case COMPLETE_AND_RATE: {
+                    int f = readVarint(data, at);
+                    int rating = readValue(data, at);
+                    if (apply) platform.completeAndRate(f, rating, discard);
+                    break;
+                }
+                case CANCEL_BY_FREELANCER: {
+                    int f = readVarint(data, at);
+                    if (apply) platform.cancelByFreelancer(f, discard);
+                    break;
+                }
+                case CANCEL_BY_CUSTOMER: {
+                    int c = readVarint(data, at);
+                    int f = readVarint(data, at);
+                    if (apply) platform.cancelByCustomer(c, f, discard);
+                    break;
+                }
+                case BLACKLIST: {
+                    int c = readVarint(data, at);
+                    int f = readVarint(data, at);
+                    if (apply) platform.blacklist(c, f, discard);
+                    break;
+                }
+                case UNBLACKLIST: {
+                    int c = readVarint(data, at);
+                    int f = readVarint(data, at);
+                    if (apply) platform.unblacklist(c, f, discard);
+                    break;
+                }
+                case CHANGE_SERVICE: {
+                    int f = readVarint(data, at);
+                    String service = CompositeScorer.serviceName(readVarint(data, at));
+                    int price = readValue(data, at);
+                    if (apply) platform.changeService(f, service, price, discard);
+                    break;
+                }
+                case UPDATE_SKILL: {
+                    int f = readVarint(data, at);
+                    int T = readValue(data, at);
+                    int C = readValue(data, at);
+                    int R = readValue(data, at);
+                    int E = readValue(data, at);
+                    int A = readValue(data, at);
+                    if (apply) platform.updateSkill(f, T, C, R, E, A, discard);
+                    break;
+                }
+                case SIMULATE_MONTH:
+                    if (apply) platform.simulateMonth(discard);
+                    break;
+                default:
+                    throw new IOException("Bad write-ahead log record " + op);
+            }
+            discard.rollback(mark);
+
+            if (apply) {
+                if (platform.getMutationCount() != number) { // The record did not apply as logged
+                    throw new IOException("Write-ahead log replay diverged at record " + number);
+                }
+                recovered++;
+            }
+            number++;
+        }
+        return number;
+    }
+
+    private static String readId(byte[] data, int[] at) {
+        int length = readVarint(data, at);
+        String id = new String(data, at[0], length, StandardCharsets.UTF_8);
+        at[0] += length;
+        return id;
+    }
+
+    private static int readValue(byte[] data, int[] at) {
+        int v = readVarint(data, at);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static int readVarint(byte[] data, int[] at) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data[at[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private void putVarint(int v) {
+        reserve(5);
+        while ((v & ~0x7F) != 0) {
+            buf[size++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[size++] = (byte) v;
+    }
+
+    private void reserve(int n) {
+        if (buf.length - size < n) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+        }
+    }
+
+}
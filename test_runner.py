@@ -23,10 +23,11 @@ from pathlib import Path
 
 # Configuration
 SRC_DIR = "src"
+PACKAGE_DIR = "gigmatch"
 OUTPUT_DIR = "output"
 # Root folder containing test case groups (Type1, Type2, ...)
 TESTCASE_ROOT = "test_cases"
-MAIN_CLASS = "Main"
+MAIN_CLASS = "gigmatch.Main"
 
 # Colors for cross-platform output
 class Colors:
@@ -86,14 +87,14 @@ def compile_java():
         return False
     
     # Find all .java files
-    java_files = glob.glob(os.path.join(SRC_DIR, "*.java"))
+    java_files = glob.glob(os.path.join(SRC_DIR, PACKAGE_DIR, "*.java"))
     if not java_files:
         log_error(f"✗ No Java files found in '{SRC_DIR}'")
         return False
     
     try:
         # Compile all Java files
-        cmd = ["javac"] + [os.path.basename(f) for f in java_files]
+        cmd = ["javac", "-encoding", "UTF-8"] + [os.path.relpath(f, SRC_DIR) for f in java_files]
         result = subprocess.run(cmd, cwd=SRC_DIR, capture_output=True, text=True)
         
         if result.returncode != 0:
@@ -417,7 +418,7 @@ def clean_outputs():
     import glob
     
     # Remove old .class files
-    for f in glob.glob(os.path.join(SRC_DIR, "*.class")):
+    for f in glob.glob(os.path.join(SRC_DIR, PACKAGE_DIR, "*.class")):
         try:
             os.remove(f)
         except: